@@ -1,18 +1,88 @@
 package com.backend.registrationworker.config;
 
+import com.backend.shared.messaging.RegistrationPartitions;
+import com.backend.shared.messaging.RegistrationRetryTopology;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+
+import java.util.List;
 
 @Configuration
 public class RabbitConfig {
     @Value("${messaging.rabbitmq.registration-queue}")
     private String registrationQueue;
 
+    @Value("${messaging.rabbitmq.registration-exchange}")
+    private String registrationExchange;
+
+    @Value("${messaging.rabbitmq.registration-routing-key}")
+    private String registrationRoutingKey;
+
+    @Value("${messaging.rabbitmq.registration-partitions:8}")
+    private int registrationPartitions;
+
+    @Value("${messaging.registration.retry.delays-ms:1000,5000,30000}")
+    private List<Long> retryDelaysMs;
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
     }
+
+    @Bean
+    public DirectExchange registrationExchange() {
+        return new DirectExchange(registrationExchange);
+    }
+
+    /**
+     * Declared here as well so a worker can start before the API.
+     */
+    @Bean
+    public Declarables registrationPartitionQueues(DirectExchange registrationExchange) {
+        return RegistrationPartitions.declarables(registrationExchange, registrationQueue, registrationRoutingKey,
+                registrationPartitions);
+    }
+
+    @Bean
+    public Declarables registrationRetryTopology(DirectExchange registrationExchange) {
+        return RegistrationRetryTopology.declarables(registrationExchange, registrationQueue, retryDelaysMs);
+    }
+
+    /**
+     * Batch consumption of the partition queues: a batch is handed over once
+     * batch.size commands arrived or no further command arrived within
+     * batch.receive-timeout-ms. Deliveries are acknowledged individually by the
+     * listener (manual acks).
+     *
+     * A batch holds its deliveries unacknowledged until it is processed, so it
+     * can never be larger than the prefetch. The batch is therefore capped at
+     * spring.rabbitmq.listener.simple.prefetch instead of raising the prefetch,
+     * which is kept small so higher booking tiers are not stuck behind
+     * prefetched general sale.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory registrationBatchContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${messaging.registration.batch.size:5}") int batchSize,
+            @Value("${messaging.registration.batch.receive-timeout-ms:50}") long receiveTimeoutMs,
+            @Value("${spring.rabbitmq.listener.simple.prefetch:5}") int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(Math.min(batchSize, prefetch));
+        factory.setReceiveTimeout(receiveTimeoutMs);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        return factory;
+    }
 }
@@ -1,11 +1,18 @@
 package com.backend.registrationworker.config;
 
+import com.backend.shared.booking.RedisBookingStatusStore;
+import com.backend.shared.inventory.RedisInventoryCounter;
+import com.backend.shared.seating.RedisSeatLockStore;
+import com.backend.shared.seating.SeatLockStore;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+
 @Configuration
 public class RedisConfig {
 
@@ -19,4 +26,20 @@ public class RedisConfig {
         template.setHashValueSerializer(new StringRedisSerializer());
         return template;
     }
+
+    @Bean
+    public SeatLockStore seatLockStore(RedisTemplate<String, Object> redisTemplate) {
+        return new RedisSeatLockStore(redisTemplate);
+    }
+
+    @Bean
+    public RedisInventoryCounter redisInventoryCounter(RedisTemplate<String, Object> redisTemplate) {
+        return new RedisInventoryCounter(redisTemplate);
+    }
+
+    @Bean
+    public RedisBookingStatusStore redisBookingStatusStore(RedisTemplate<String, Object> redisTemplate,
+            @Value("${registration.status.ttl-ms:86400000}") long ttlMs) {
+        return new RedisBookingStatusStore(redisTemplate, Duration.ofMillis(ttlMs));
+    }
 }
@@ -7,7 +7,10 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "tickets")
+// A seat is sold at most once per event; a duplicate insert fails instead of selling it twice
+@Table(name = "tickets",
+        uniqueConstraints = @UniqueConstraint(name = "uk_tickets_event_seat", columnNames = { "event_id", "seat_id" }),
+        indexes = @Index(name = "idx_tickets_booking", columnList = "booking_id"))
 @Getter
 @Setter
 @NoArgsConstructor
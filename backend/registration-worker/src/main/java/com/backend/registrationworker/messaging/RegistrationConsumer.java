@@ -2,27 +2,165 @@ package com.backend.registrationworker.messaging;
 
 import com.backend.registrationworker.service.WorkerBookingService;
 import com.backend.shared.messaging.commands.ProcessBookingCommand;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
-import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class RegistrationConsumer {
 
     private final WorkerBookingService workerBookingService;
+    private final RegistrationFailureHandler failureHandler;
+    private final MessageConverter messageConverter;
+    private final MeterRegistry meterRegistry;
 
+    /**
+     * Also invoked by the partition listeners when batching is off (see
+     * RegistrationPartitionListeners); the annotated listener drains the
+     * pre-partitioning queue.
+     * Failures are retried with a delay or dead-lettered by the failure handler,
+     * never requeued in place.
+     */
     @RabbitListener(queues = "${messaging.rabbitmq.registration-queue}")
-    public void consumeRegistrationRequest(ProcessBookingCommand command) {
-        log.info("Received registration command for bookingId: {}", command.getBookingId());
+    public void consumeRegistrationRequest(Message message) {
+        ProcessBookingCommand command = read(message);
+        if (command != null) {
+            process(message, command);
+        }
+    }
+
+    /**
+     * Processes a batch of deliveries from a partition queue (manual acks).
+     * The batch is settled with WorkerBookingService#processBatch; commands it
+     * hands back are processed one by one. Each delivery is acknowledged on its
+     * own once its outcome is final, so one failure never redelivers the batch.
+     * Bookings rejected for lost locks are counted as lost_lock, not processed.
+     */
+    public void consumeRegistrationBatch(List<Message> messages, Channel channel) {
+        meterRegistry.summary("registration.batch.size").record(messages.size());
+
+        List<Message> readable = new ArrayList<>(messages.size());
+        List<ProcessBookingCommand> commands = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            settle(channel, message, () -> {
+                ProcessBookingCommand command = read(message);
+                if (command == null) {
+                    return true;
+                }
+                readable.add(message);
+                commands.add(command);
+                return false;
+            });
+        }
+        if (commands.isEmpty()) {
+            return;
+        }
+
+        WorkerBookingService.BatchResult result;
+        try {
+            result = workerBookingService.processBatch(commands);
+        } catch (Exception e) {
+            log.warn("Batch of {} registration commands failed, processing them one by one", commands.size(), e);
+            result = new WorkerBookingService.BatchResult(commands, Set.of());
+        }
+        List<ProcessBookingCommand> leftovers = result.leftovers();
+        Set<UUID> lostLocks = result.lostLocks();
+        if (!leftovers.isEmpty()) {
+            meterRegistry.counter("registration.batch.fallbacks").increment(leftovers.size());
+        }
+
+        Set<UUID> individually = leftovers.stream()
+                .map(ProcessBookingCommand::getBookingId)
+                .collect(Collectors.toSet());
+        for (int i = 0; i < commands.size(); i++) {
+            Message message = readable.get(i);
+            ProcessBookingCommand command = commands.get(i);
+            settle(channel, message, () -> {
+                if (individually.contains(command.getBookingId())) {
+                    process(message, command);
+                } else if (lostLocks.contains(command.getBookingId())) {
+                    failureHandler.lostLock(message);
+                } else {
+                    failureHandler.succeeded(message);
+                }
+                return true;
+            });
+        }
+    }
+
+    /**
+     * @return the command, or null if the message was unreadable and dead-lettered
+     */
+    private ProcessBookingCommand read(Message message) {
+        try {
+            return (ProcessBookingCommand) messageConverter.fromMessage(message);
+        } catch (RuntimeException e) {
+            log.error("Unreadable registration message {}", message.getMessageProperties().getMessageId(), e);
+            failureHandler.deadLetter(message, e);
+            return null;
+        }
+    }
+
+    private void process(Message message, ProcessBookingCommand command) {
+        log.info("Received registration command for bookingId: {} ({}, attempt {})",
+                command.getBookingId(), command.getPriority(), RegistrationFailureHandler.attemptOf(message));
         try {
-            workerBookingService.processBooking(command);
+            if (workerBookingService.processBooking(command)) {
+                failureHandler.succeeded(message);
+            } else {
+                failureHandler.lostLock(message);
+            }
         } catch (Exception e) {
             log.error("Error processing booking {}", command.getBookingId(), e);
-            // In production: Send to Dead Letter Queue (DLQ)
+            if (!failureHandler.retryOrDeadLetter(message, e)) {
+                workerBookingService.abandonBooking(command, "Processing error");
+            }
         }
     }
+
+    /**
+     * Runs a step for one delivery and acknowledges it if the step says it is
+     * done. A delivery whose step throws is rejected without requeue, so the
+     * queue dead-letters it.
+     */
+    private static void settle(Channel channel, Message message, Step step) {
+        long deliveryTag = message.getMessageProperties().getDeliveryTag();
+        try {
+            if (step.run()) {
+                channel.basicAck(deliveryTag, false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            log.error("Rejecting registration message {}", message.getMessageProperties().getMessageId(), e);
+            try {
+                channel.basicNack(deliveryTag, false, false);
+            } catch (IOException nackFailure) {
+                throw new UncheckedIOException(nackFailure);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        /**
+         * @return true once the delivery can be acknowledged
+         */
+        boolean run();
+    }
 }
@@ -0,0 +1,163 @@
+package com.backend.registrationworker.messaging;
+
+import com.backend.shared.exceptions.BusinessException;
+import com.backend.shared.messaging.RegistrationRetryTopology;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Decides what happens to a registration command whose processing failed.
+ *
+ * Transient failures are republished to the delayed retry queues with an
+ * exponential backoff (messaging.registration.retry.delays-ms, the last delay
+ * repeating) until messaging.registration.retry.max-attempts is reached.
+ * Exhausted and permanent failures (business rule violations, constraint
+ * violations, unreadable messages) go to the dead-letter queue with failure
+ * metadata headers. Republishing waits for the broker confirm, so the
+ * original delivery is only acknowledged once its successor is safe.
+ */
+@Component
+@Slf4j
+public class RegistrationFailureHandler {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary attempts;
+    private final String retryExchange;
+    private final String deadLetterExchange;
+    private final List<Long> delaysMs;
+    private final int maxAttempts;
+    private final long confirmTimeoutMs;
+
+    public RegistrationFailureHandler(RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${messaging.rabbitmq.registration-exchange}") String registrationExchange,
+            @Value("${messaging.registration.retry.delays-ms:1000,5000,30000}") List<Long> delaysMs,
+            @Value("${messaging.registration.retry.max-attempts:5}") int maxAttempts,
+            @Value("${messaging.registration.retry.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.meterRegistry = meterRegistry;
+        this.retryExchange = RegistrationRetryTopology.retryExchange(registrationExchange);
+        this.deadLetterExchange = RegistrationRetryTopology.deadLetterExchange(registrationExchange);
+        this.delaysMs = delaysMs;
+        this.maxAttempts = maxAttempts;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.attempts = DistributionSummary.builder("registration.command.attempts")
+                .description("Attempts a registration command took until it was processed or dead-lettered")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the 1-based attempt number of the delivery
+     */
+    public static int attemptOf(Message message) {
+        Object attempt = message.getMessageProperties().getHeaders().get(RegistrationRetryTopology.ATTEMPT_HEADER);
+        return attempt instanceof Number number ? number.intValue() : 1;
+    }
+
+    public void succeeded(Message message) {
+        record("processed", null);
+        attempts.record(attemptOf(message));
+    }
+
+    /**
+     * The command was handled but its booking was rejected because the seat
+     * locks expired or were re-taken; counted apart from confirmed bookings.
+     */
+    public void lostLock(Message message) {
+        record("lost_lock", null);
+        attempts.record(attemptOf(message));
+    }
+
+    /**
+     * Schedules another attempt, or dead-letters the command.
+     *
+     * @return true if the command will be retried, false if it was dead-lettered
+     * @throws AmqpRejectAndDontRequeueException if the broker did not accept the
+     *         republished command; the delivery is then dead-lettered by the queue
+     */
+    public boolean retryOrDeadLetter(Message message, Exception failure) {
+        int attempt = attemptOf(message);
+        if (attempt >= maxAttempts || !isRetryable(failure)) {
+            deadLetter(message, failure);
+            return false;
+        }
+
+        long delayMs = delaysMs.get(Math.min(attempt - 1, delaysMs.size() - 1));
+        MessageProperties properties = message.getMessageProperties();
+        properties.setHeader(RegistrationRetryTopology.ATTEMPT_HEADER, attempt + 1);
+        properties.setHeader(RegistrationRetryTopology.RETRY_DELAY_HEADER, String.valueOf(delayMs));
+        describeFailure(properties, failure);
+        publish(retryExchange, properties.getReceivedRoutingKey(), message);
+
+        record("retried", failure);
+        log.warn("Registration attempt {} of {} failed, retrying in {} ms: {}",
+                attempt, maxAttempts, delayMs, failure.toString());
+        return true;
+    }
+
+    /**
+     * Moves the command to the dead-letter queue with the failure metadata.
+     */
+    public void deadLetter(Message message, Exception failure) {
+        MessageProperties properties = message.getMessageProperties();
+        properties.getHeaders().remove(RegistrationRetryTopology.RETRY_DELAY_HEADER);
+        describeFailure(properties, failure);
+        publish(deadLetterExchange, RegistrationRetryTopology.DEAD_LETTER_ROUTING_KEY, message);
+
+        record("dead_lettered", failure);
+        attempts.record(attemptOf(message));
+        log.error("Registration command dead-lettered after {} attempt(s): {}", attemptOf(message), failure.toString());
+    }
+
+    private void describeFailure(MessageProperties properties, Exception failure) {
+        properties.setHeader(RegistrationRetryTopology.FAILURE_REASON_HEADER, String.valueOf(failure.getMessage()));
+        properties.setHeader(RegistrationRetryTopology.FAILURE_EXCEPTION_HEADER, failure.getClass().getName());
+        properties.setHeader(RegistrationRetryTopology.FAILURE_ROUTING_KEY_HEADER, properties.getReceivedRoutingKey());
+        properties.setHeader(RegistrationRetryTopology.FAILED_AT_HEADER, Instant.now().toString());
+    }
+
+    private void publish(String exchange, String routingKey, Message message) {
+        try {
+            rabbitTemplate.invoke(operations -> {
+                operations.send(exchange, routingKey, message);
+                operations.waitForConfirmsOrDie(confirmTimeoutMs);
+                return null;
+            });
+        } catch (AmqpException e) {
+            throw new AmqpRejectAndDontRequeueException("Could not republish registration command to " + exchange, e);
+        }
+    }
+
+    private static boolean isRetryable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BusinessException
+                    || cause instanceof DataIntegrityViolationException
+                    || cause instanceof MessageConversionException
+                    || cause instanceof IllegalArgumentException) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void record(String outcome, Exception failure) {
+        meterRegistry.counter("registration.command.outcomes",
+                "outcome", outcome,
+                "exception", failure == null ? "none" : failure.getClass().getSimpleName())
+                .increment();
+    }
+}
@@ -0,0 +1,91 @@
+package com.backend.registrationworker.messaging;
+
+import com.backend.shared.messaging.RegistrationPartitions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareBatchMessageListener;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Starts one listener container per assigned registration partition.
+ *
+ * Each container has a single consumer, so the commands of an event are
+ * processed one at a time and in order, while partitions (and therefore
+ * unrelated events) run in parallel. Workers are assigned partitions with
+ * messaging.rabbitmq.registration-assigned-partitions; by default a worker
+ * subscribes to all of them and RabbitMQ's single active consumer keeps only
+ * one worker consuming each partition. With messaging.registration.batch.enabled,
+ * partitions are consumed in batches (see RabbitConfig#registrationBatchContainerFactory).
+ */
+@Component
+@Slf4j
+public class RegistrationPartitionListeners implements RabbitListenerConfigurer {
+
+    private final RegistrationConsumer registrationConsumer;
+    private final SimpleRabbitListenerContainerFactory batchContainerFactory;
+    private final boolean batchEnabled;
+    private final String registrationQueue;
+    private final int partitions;
+    private final String assignedPartitions;
+
+    public RegistrationPartitionListeners(RegistrationConsumer registrationConsumer,
+            SimpleRabbitListenerContainerFactory registrationBatchContainerFactory,
+            @Value("${messaging.registration.batch.enabled:true}") boolean batchEnabled,
+            @Value("${messaging.rabbitmq.registration-queue}") String registrationQueue,
+            @Value("${messaging.rabbitmq.registration-partitions:8}") int partitions,
+            @Value("${messaging.rabbitmq.registration-assigned-partitions:}") String assignedPartitions) {
+        this.registrationConsumer = registrationConsumer;
+        this.batchContainerFactory = registrationBatchContainerFactory;
+        this.batchEnabled = batchEnabled;
+        this.registrationQueue = registrationQueue;
+        this.partitions = partitions;
+        this.assignedPartitions = assignedPartitions;
+    }
+
+    @Override
+    public void configureRabbitListeners(RabbitListenerEndpointRegistrar registrar) {
+        List<Integer> assigned = assignedPartitions();
+        for (int partition : assigned) {
+            SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+            endpoint.setId("registration-partition-" + partition);
+            endpoint.setQueueNames(RegistrationPartitions.queueName(registrationQueue, partition));
+            endpoint.setConcurrency("1");
+            if (batchEnabled) {
+                endpoint.setBatchListener(true);
+                ChannelAwareBatchMessageListener listener = registrationConsumer::consumeRegistrationBatch;
+                endpoint.setMessageListener(listener);
+                registrar.registerEndpoint(endpoint, batchContainerFactory);
+            } else {
+                endpoint.setMessageListener(registrationConsumer::consumeRegistrationRequest);
+                registrar.registerEndpoint(endpoint);
+            }
+        }
+        log.info("Consuming registration partitions {} of {} (batches: {})", assigned, partitions, batchEnabled);
+    }
+
+    private List<Integer> assignedPartitions() {
+        if (assignedPartitions.isBlank()) {
+            return IntStream.range(0, partitions).boxed().toList();
+        }
+        List<Integer> assigned = Arrays.stream(assignedPartitions.split(","))
+                .map(String::trim)
+                .map(Integer::valueOf)
+                .toList();
+        assigned.stream()
+                .filter(p -> p < 0 || p >= partitions)
+                .findAny()
+                .ifPresent(p -> {
+                    throw new IllegalStateException(
+                            "Assigned registration partition " + p + " is outside 0.." + (partitions - 1));
+                });
+        return assigned;
+    }
+}
@@ -0,0 +1,40 @@
+package com.backend.registrationworker.messaging;
+
+import com.backend.shared.enums.SeatStatus;
+import com.backend.shared.seating.SeatStatusChannel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Publishes the seat map changes of the worker (seats booked, and booked seats
+ * locked again after a rollback) for the API nodes to broadcast.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatStatusPublisher {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * @param version Seat map version returned by the store operation; nothing is
+     *                published for operations that changed nothing (version 0)
+     */
+    public void publish(UUID eventId, long version, SeatStatus status, List<String> seatIds, UUID userId) {
+        if (version <= 0 || seatIds.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(SeatStatusChannel.CHANNEL, SeatStatusChannel.message(
+                    new SeatStatusChannel.Delta(eventId, version, status, seatIds, userId)));
+        } catch (RuntimeException e) {
+            // Clients detect the version gap and resync from the snapshot
+            log.error("Failed to publish {} seats {} of event {}", status, seatIds, eventId, e);
+        }
+    }
+}
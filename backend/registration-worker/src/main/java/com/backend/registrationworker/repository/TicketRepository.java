@@ -2,10 +2,22 @@ package com.backend.registrationworker.repository;
 
 import com.backend.registrationworker.domain.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, UUID> {
+
+    boolean existsByBookingId(UUID bookingId);
+
+    /**
+     * @return the bookings among bookingIds that already have tickets
+     */
+    @Query("select distinct t.bookingId from Ticket t where t.bookingId in :bookingIds")
+    List<UUID> findProcessedBookingIds(@Param("bookingIds") Collection<UUID> bookingIds);
 }
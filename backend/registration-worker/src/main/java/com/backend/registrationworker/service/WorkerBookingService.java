@@ -1,62 +1,403 @@
 package com.backend.registrationworker.service;
 
 import com.backend.registrationworker.messaging.NotificationPublisher;
+import com.backend.registrationworker.messaging.SeatStatusPublisher;
+import com.backend.shared.booking.RedisBookingStatusStore;
+import com.backend.shared.enums.BookingStatus;
+import com.backend.shared.enums.SeatStatus;
+import com.backend.shared.inventory.RedisInventoryCounter;
 import com.backend.shared.messaging.commands.ProcessBookingCommand;
-import lombok.RequiredArgsConstructor;
+import com.backend.shared.seating.SeatLockResult;
+import com.backend.shared.seating.SeatLockStore;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class WorkerBookingService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private static final String INSERT_TICKET = "INSERT INTO tickets "
+            + "(id, booking_id, user_id, event_id, seat_id, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final SeatLockStore seatLockStore;
     private final com.backend.registrationworker.repository.TicketRepository ticketRepository;
     private final NotificationPublisher notificationPublisher;
+    private final SeatStatusPublisher seatStatusPublisher;
+    private final RedisInventoryCounter inventoryCounter;
+    private final RedisBookingStatusStore bookingStatusStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration restoreLockTtl;
 
+    public WorkerBookingService(SeatLockStore seatLockStore,
+            com.backend.registrationworker.repository.TicketRepository ticketRepository,
+            NotificationPublisher notificationPublisher,
+            SeatStatusPublisher seatStatusPublisher,
+            RedisInventoryCounter inventoryCounter,
+            RedisBookingStatusStore bookingStatusStore,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${seating.booking.restore-lock-ttl-ms:60000}") long restoreLockTtlMs) {
+        this.seatLockStore = seatLockStore;
+        this.ticketRepository = ticketRepository;
+        this.notificationPublisher = notificationPublisher;
+        this.seatStatusPublisher = seatStatusPublisher;
+        this.inventoryCounter = inventoryCounter;
+        this.bookingStatusStore = bookingStatusStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.restoreLockTtl = Duration.ofMillis(restoreLockTtlMs);
+    }
+
+    /**
+     * @return false if the booking was rejected because its seat locks were lost
+     */
     @Transactional
-    public void processBooking(ProcessBookingCommand command) {
+    public boolean processBooking(ProcessBookingCommand command) {
         log.info("Processing booking: {}", command.getBookingId());
+        settleOnCommit(command);
 
-        // 1. Verify Seat Locks in Redis
-        boolean allSeatsLocked = verifyLocks(command);
-
-        if (!allSeatsLocked) {
-            log.error("Locks expired or invalid for booking {}", command.getBookingId());
-            notificationPublisher.publishBookingFailure(command.getUserId(), command.getBookingId(),
-                    command.getEventId(), "Locks expired");
-            return;
+        // 0. A redelivery of a booking already committed (e.g. the worker died before
+        // acking) only settles it again: no second set of tickets, no second notification
+        if (ticketRepository.existsByBookingId(command.getBookingId())) {
+            log.info("Booking {} was already processed, skipping redelivery", command.getBookingId());
+            return true;
         }
 
-        // 2. Create Tickets / Confirm Booking in DB
+        // 1. Create Tickets in DB (flushed, not yet committed)
         try {
             saveBookingToDb(command);
         } catch (Exception e) {
+            // Retried or abandoned by the consumer
             log.error("Failed to save tickets for booking {}", command.getBookingId(), e);
-            notificationPublisher.publishBookingFailure(command.getUserId(), command.getBookingId(),
-                    command.getEventId(), "Database error");
             throw e;
         }
 
+        // 2. Turn the Seat Locks into BOOKED markers right before commit, in one
+        // atomic check-and-set, so a pause anywhere above (GC, slow DB) cannot
+        // confirm seats whose lock was lost meanwhile, and sold seats never expire
+        List<String> staleSeats = bookSeats(command);
+
+        if (!staleSeats.isEmpty()) {
+            log.error("Locks expired or re-taken for seats {} of booking {}", staleSeats, command.getBookingId());
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            rejectLostLocks(command);
+            return false;
+        }
+
         // 3. Publish Notification
         notificationPublisher.publishBookingConfirmation(command.getUserId(), command.getBookingId(),
                 command.getEventId());
 
         log.info("Booking {} confirmed and processed.", command.getBookingId());
+        return true;
     }
 
-    private boolean verifyLocks(ProcessBookingCommand command) {
-        for (String seatId : command.getSelectedSeats()) {
-            String lockKey = "seat_lock:" + command.getEventId() + ":" + seatId;
-            Boolean hasKey = redisTemplate.hasKey(lockKey);
-            if (Boolean.FALSE.equals(hasKey)) {
-                return false;
+    /**
+     * Outcome of {@link #processBatch}.
+     *
+     * @param leftovers Commands to be processed one by one with processBooking
+     * @param lostLocks Bookings rejected because their seat locks were lost
+     */
+    public record BatchResult(List<ProcessBookingCommand> leftovers, Set<UUID> lostLocks) {
+    }
+
+    /**
+     * Processes several bookings together: one pipelined lock check, then the
+     * tickets of every booking still holding its locks in one JDBC batch and one
+     * transaction, with the locks turned into BOOKED markers in a second pipeline
+     * right before commit.
+     *
+     * Bookings whose locks are already gone fail right away. If a lock is lost
+     * between the check and the conversion, or the batch cannot be written (e.g. one booking
+     * violates a constraint), the transaction is rolled back and the bookings
+     * are handed back to be processed one by one with processBooking, so one bad
+     * booking cannot fail the others. Bookings that already have tickets (a
+     * batch redelivered after commit) are only settled again.
+     *
+     * @return the commands not settled by the batch, to be processed individually,
+     *         and the bookings rejected because their locks were lost
+     */
+    public BatchResult processBatch(List<ProcessBookingCommand> commands) {
+        List<ProcessBookingCommand> leftovers = new ArrayList<>();
+        Set<UUID> lostLocks = new HashSet<>();
+        List<ProcessBookingCommand> fenced = new ArrayList<>(commands.size());
+        for (ProcessBookingCommand command : commands) {
+            // Commands queued before fencing tokens existed take the single path
+            (command.getFencingTokens().isEmpty() ? leftovers : fenced).add(command);
+        }
+        if (fenced.isEmpty()) {
+            return new BatchResult(leftovers, lostLocks);
+        }
+
+        // 0. Redeliveries of bookings already committed (e.g. a batch whose acks were lost)
+        // are only settled again
+        Set<UUID> processed = new HashSet<>(ticketRepository.findProcessedBookingIds(
+                fenced.stream().map(ProcessBookingCommand::getBookingId).toList()));
+        if (!processed.isEmpty()) {
+            log.info("Bookings {} were already processed, skipping redelivery", processed);
+            fenced.stream().filter(command -> processed.contains(command.getBookingId()))
+                    .forEach(this::settleConfirmed);
+            fenced.removeIf(command -> processed.contains(command.getBookingId()));
+            if (fenced.isEmpty()) {
+                return new BatchResult(leftovers, lostLocks);
             }
         }
-        return true;
+
+        // 1. One lock check for the whole batch; bookings that lost their locks fail now
+        List<List<String>> staleSeats = seatLockStore.verifyFencesAll(fenceChecksOf(fenced));
+        List<ProcessBookingCommand> valid = new ArrayList<>(fenced.size());
+        for (int i = 0; i < fenced.size(); i++) {
+            ProcessBookingCommand command = fenced.get(i);
+            if (staleSeats.get(i).isEmpty()) {
+                valid.add(command);
+            } else {
+                log.error("Locks expired or re-taken for seats {} of booking {}", staleSeats.get(i),
+                        command.getBookingId());
+                rejectLostLocks(command);
+                lostLocks.add(command.getBookingId());
+            }
+        }
+        if (valid.isEmpty()) {
+            return new BatchResult(leftovers, lostLocks);
+        }
+
+        // 2. All tickets in one transaction, locks converted to BOOKED right before commit
+        Boolean committed;
+        try {
+            committed = transactionTemplate.execute(status -> {
+                insertTickets(valid);
+                boolean allBooked = bookAllSeats(valid);
+                if (!allBooked) {
+                    status.setRollbackOnly();
+                }
+                return allBooked;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Batch of {} bookings could not be written, processing them one by one", valid.size(), e);
+            committed = false;
+        }
+        if (!Boolean.TRUE.equals(committed)) {
+            leftovers.addAll(valid);
+            return new BatchResult(leftovers, lostLocks);
+        }
+
+        // 3. Settle the confirmed bookings
+        for (ProcessBookingCommand command : valid) {
+            settleConfirmed(command);
+            notificationPublisher.publishBookingConfirmation(command.getUserId(), command.getBookingId(),
+                    command.getEventId());
+        }
+        log.info("Batch of {} bookings confirmed and processed.", valid.size());
+        return new BatchResult(leftovers, lostLocks);
+    }
+
+    /**
+     * Gives up on a booking whose processing failed for good (attempts exhausted
+     * or a permanent error): returns its inventory reservation and tells the user.
+     * Its seat locks are left to expire.
+     */
+    public void abandonBooking(ProcessBookingCommand command, String reason) {
+        releaseInventory(command);
+        recordStatus(command, BookingStatus.FAILED, reason);
+        notificationPublisher.publishBookingFailure(command.getUserId(), command.getBookingId(),
+                command.getEventId(), reason);
+    }
+
+    /**
+     * Once the tickets are committed, settles the booking as confirmed. A
+     * rollback keeps the reservation: the attempt may be retried, and bookings
+     * that fail for good release it explicitly.
+     */
+    private void settleOnCommit(ProcessBookingCommand command) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                settleConfirmed(command);
+            }
+        });
+    }
+
+    /**
+     * Keeps the booking's inventory reservation and records the booking as
+     * CONFIRMED. Idempotent, so redeliveries of a committed booking can run it again.
+     */
+    private void settleConfirmed(ProcessBookingCommand command) {
+        if (command.isFromQueue()) {
+            try {
+                inventoryCounter.confirm(command.getEventId(), command.getUserId(), command.getSelectedSeats());
+            } catch (RuntimeException e) {
+                // Unsettled reservations are given back by the API once their deadline passes
+                log.error("Failed to confirm inventory of booking {}", command.getBookingId(), e);
+            }
+        }
+        recordStatus(command, BookingStatus.CONFIRMED, null);
+    }
+
+    private void recordStatus(ProcessBookingCommand command, BookingStatus status, String reason) {
+        try {
+            bookingStatusStore.update(command.getBookingId(), command.getUserId(), command.getEventId(), status,
+                    reason);
+        } catch (RuntimeException e) {
+            // The notification still tells the user; only status polling misses the update
+            log.error("Failed to record status {} of booking {}", status, command.getBookingId(), e);
+        }
+    }
+
+    /**
+     * Fails a booking whose seat locks expired or were re-taken.
+     */
+    private void rejectLostLocks(ProcessBookingCommand command) {
+        releaseInventory(command);
+        recordStatus(command, BookingStatus.FAILED, "Locks expired");
+        notificationPublisher.publishBookingFailure(command.getUserId(), command.getBookingId(),
+                command.getEventId(), "Locks expired");
+    }
+
+    private void releaseInventory(ProcessBookingCommand command) {
+        if (!command.isFromQueue()) {
+            return;
+        }
+        try {
+            inventoryCounter.release(command.getEventId(), command.getUserId(), command.getSelectedSeats());
+        } catch (RuntimeException e) {
+            // Unsettled reservations are given back by the API once their deadline passes
+            log.error("Failed to release inventory of booking {}", command.getBookingId(), e);
+        }
+    }
+
+    /**
+     * Turns the command's seat locks into BOOKED markers, or none of them.
+     *
+     * @return the seats no longer held under the command's fencing tokens
+     */
+    private List<String> bookSeats(ProcessBookingCommand command) {
+        if (command.getFencingTokens().isEmpty()) {
+            // Commands queued before fencing tokens existed; their locks are left to expire
+            return seatLockStore.areAllLocked(command.getEventId(), command.getSelectedSeats())
+                    ? List.of()
+                    : command.getSelectedSeats();
+        }
+        SeatLockResult result = seatLockStore.book(command.getEventId(), command.getFencingTokens(),
+                command.getUserId(), command.getSeatLayout());
+        if (result.seatIds().isEmpty()) {
+            publishBooked(command, result);
+            unbookOnRollback(List.of(command));
+        }
+        return result.seatIds();
+    }
+
+    /**
+     * Turns the seat locks of every command into BOOKED markers, in one pipeline.
+     *
+     * @return whether all bookings were converted
+     */
+    private boolean bookAllSeats(List<ProcessBookingCommand> commands) {
+        List<SeatLockResult> results;
+        try {
+            results = seatLockStore.bookAll(seatBookingsOf(commands));
+        } catch (RuntimeException e) {
+            // Some bookings may have been converted before the pipeline failed
+            unbookOnRollback(commands);
+            throw e;
+        }
+
+        List<ProcessBookingCommand> booked = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            if (results.get(i).seatIds().isEmpty()) {
+                publishBooked(commands.get(i), results.get(i));
+                booked.add(commands.get(i));
+            } else {
+                log.warn("Locks lost for seats {} of booking {} before commit", results.get(i).seatIds(),
+                        commands.get(i).getBookingId());
+            }
+        }
+        unbookOnRollback(booked);
+        return booked.size() == commands.size();
+    }
+
+    /**
+     * Announces the conversion as soon as the index says BOOKED (not only after
+     * commit), so every version the script issued is broadcast; a rollback
+     * follows up with the restored locks.
+     */
+    private void publishBooked(ProcessBookingCommand command, SeatLockResult result) {
+        seatStatusPublisher.publish(command.getEventId(), result.version(), SeatStatus.BOOKED,
+                List.copyOf(command.getFencingTokens().keySet()), command.getUserId());
+    }
+
+    /**
+     * If the current transaction does not commit, turns the BOOKED markers of the
+     * commands back into locks living for seating.booking.restore-lock-ttl-ms, so
+     * a retry can still book them and otherwise they return to the pool.
+     */
+    private void unbookOnRollback(List<ProcessBookingCommand> commands) {
+        if (commands.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                for (ProcessBookingCommand command : commands) {
+                    try {
+                        SeatLockResult restored = seatLockStore.unbook(command.getEventId(),
+                                command.getSelectedSeats(), command.getUserId(), restoreLockTtl,
+                                command.getSeatLayout());
+                        seatStatusPublisher.publish(command.getEventId(), restored.version(), SeatStatus.LOCKED,
+                                restored.seatIds(), command.getUserId());
+                    } catch (RuntimeException e) {
+                        log.error("Failed to restore the seat locks of rolled back booking {}",
+                                command.getBookingId(), e);
+                    }
+                }
+            }
+        });
+    }
+
+    private static List<SeatLockStore.SeatBooking> seatBookingsOf(List<ProcessBookingCommand> commands) {
+        return commands.stream()
+                .map(command -> new SeatLockStore.SeatBooking(command.getEventId(), command.getFencingTokens(),
+                        command.getUserId(), command.getSeatLayout()))
+                .toList();
+    }
+
+    private static List<SeatLockStore.FenceCheck> fenceChecksOf(List<ProcessBookingCommand> commands) {
+        return commands.stream()
+                .map(command -> new SeatLockStore.FenceCheck(command.getEventId(), command.getFencingTokens(),
+                        command.getUserId()))
+                .toList();
+    }
+
+    private void insertTickets(List<ProcessBookingCommand> commands) {
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (ProcessBookingCommand command : commands) {
+            for (String seatId : command.getSelectedSeats()) {
+                rows.add(new Object[] { UUID.randomUUID(), command.getBookingId(), command.getUserId(),
+                        command.getEventId(), seatId, "CONFIRMED", createdAt });
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_TICKET, rows);
+        log.info("Saved {} tickets for {} bookings", rows.size(), commands.size());
     }
 
     private void saveBookingToDb(ProcessBookingCommand command) {
@@ -70,7 +411,7 @@ public class WorkerBookingService {
                         .build())
                 .collect(java.util.stream.Collectors.toList());
 
-        ticketRepository.saveAll(tickets);
+        ticketRepository.saveAllAndFlush(tickets);
         log.info("Saved {} tickets for booking {}", tickets.size(), command.getBookingId());
     }
 }
@@ -0,0 +1,94 @@
+package com.backend.shared.booking;
+
+import com.backend.shared.enums.BookingStatus;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Latest status of each queued booking, written by the API when the booking is
+ * queued and by the registration worker once it is decided.
+ *
+ * Key layout:
+ * - booking_status:{bookingId}    hash of status, reason, userId, eventId, updatedAt
+ *
+ * Every update is published on {@link #CHANNEL} as "{bookingId}:{status}" in the
+ * same atomic call, so API nodes can answer long-polling clients as soon as the
+ * status changes. A final status is never moved back to PENDING.
+ */
+public class RedisBookingStatusStore {
+
+    public static final String CHANNEL = "booking_status";
+
+    private static final String KEY_PREFIX = "booking_status:";
+
+    private static final RedisScript<Long> UPDATE = RedisScript.of(
+            new ClassPathResource("scripts/booking/update_booking_status.lua"), Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Duration ttl;
+
+    /**
+     * @param redisTemplate Template using String serializers for keys and values
+     * @param ttl           How long a status is kept after its last update
+     */
+    public RedisBookingStatusStore(RedisTemplate<String, Object> redisTemplate, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Status of a booking as last recorded.
+     *
+     * @param reason Why the booking failed, null otherwise
+     */
+    public record Snapshot(UUID bookingId, UUID userId, UUID eventId, BookingStatus status, String reason,
+            Instant updatedAt) {
+    }
+
+    /**
+     * @return false if the booking already had a final status and the update was ignored
+     */
+    public boolean update(UUID bookingId, UUID userId, UUID eventId, BookingStatus status, String reason) {
+        Long updated = redisTemplate.execute(UPDATE,
+                List.of(KEY_PREFIX + bookingId),
+                status.name(),
+                reason != null ? reason : "",
+                userId.toString(),
+                eventId.toString(),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(ttl.toMillis()),
+                CHANNEL,
+                bookingId.toString());
+        return updated != null && updated > 0;
+    }
+
+    public Optional<Snapshot> find(UUID bookingId) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(KEY_PREFIX + bookingId);
+        if (fields.isEmpty()) {
+            return Optional.empty();
+        }
+        String reason = (String) fields.get("reason");
+        return Optional.of(new Snapshot(
+                bookingId,
+                UUID.fromString((String) fields.get("userId")),
+                UUID.fromString((String) fields.get("eventId")),
+                BookingStatus.valueOf((String) fields.get("status")),
+                reason == null || reason.isEmpty() ? null : reason,
+                Instant.ofEpochMilli(Long.parseLong((String) fields.get("updatedAt")))));
+    }
+
+    /**
+     * @return the booking ID of a message published on {@link #CHANNEL}
+     */
+    public static UUID bookingIdOf(String message) {
+        return UUID.fromString(message.substring(0, message.indexOf(':')));
+    }
+}
@@ -0,0 +1,40 @@
+package com.backend.shared.enums;
+
+/**
+ * Processing priority of a queued booking.
+ * Higher levels are delivered first from the registration queues.
+ */
+public enum BookingPriority {
+    /**
+     * General sale
+     */
+    GENERAL(0),
+
+    /**
+     * Customers with presale access
+     */
+    PRESALE(5),
+
+    /**
+     * VIP customers
+     */
+    VIP(9);
+
+    /**
+     * Highest level, used as the queues' x-max-priority
+     */
+    public static final int MAX_LEVEL = 9;
+
+    private final int level;
+
+    BookingPriority(int level) {
+        this.level = level;
+    }
+
+    /**
+     * @return the AMQP message priority of this tier
+     */
+    public int getLevel() {
+        return level;
+    }
+}
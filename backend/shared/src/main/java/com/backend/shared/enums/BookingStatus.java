@@ -18,5 +18,10 @@ public enum BookingStatus {
     /**
      * Booking has been cancelled by user or system
      */
-    CANCELLED
+    CANCELLED,
+
+    /**
+     * Booking could not be completed (locks lost, processing failed)
+     */
+    FAILED
 }
@@ -0,0 +1,16 @@
+package com.backend.shared.enums;
+
+/**
+ * How a registration was handled.
+ */
+public enum RegistrationMode {
+    /**
+     * Seats locked in the request, proceed to payment
+     */
+    DIRECT,
+
+    /**
+     * Queued, the booking is processed asynchronously
+     */
+    QUEUED
+}
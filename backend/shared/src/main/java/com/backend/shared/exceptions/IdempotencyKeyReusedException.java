@@ -0,0 +1,19 @@
+package com.backend.shared.exceptions;
+
+/**
+ * Exception thrown when an idempotency key is sent again with a different request.
+ */
+public class IdempotencyKeyReusedException extends BusinessException {
+
+    private static final String ERROR_CODE = "IDEMPOTENCY_KEY_REUSED";
+
+    /**
+     * Creates a new IdempotencyKeyReusedException
+     *
+     * @param idempotencyKey The idempotency key sent by the client
+     */
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super(ERROR_CODE, String.format(
+                "Idempotency key %s was already used for a different request. Use a new key.", idempotencyKey));
+    }
+}
@@ -0,0 +1,22 @@
+package com.backend.shared.exceptions;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a user tries to register for an event whose waiting
+ * room is active without a valid admission token.
+ */
+public class NotAdmittedException extends BusinessException {
+
+    private static final String ERROR_CODE = "NOT_ADMITTED";
+
+    /**
+     * Creates a new NotAdmittedException
+     *
+     * @param eventId The ID of the event
+     */
+    public NotAdmittedException(UUID eventId) {
+        super(ERROR_CODE, String.format(
+                "Event %s is in high demand. Join the waiting room and register once you are admitted.", eventId));
+    }
+}
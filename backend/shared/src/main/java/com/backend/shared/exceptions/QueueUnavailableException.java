@@ -0,0 +1,17 @@
+package com.backend.shared.exceptions;
+
+/**
+ * Exception thrown when a queued registration is attempted on a deployment
+ * that only supports direct registration (the in-memory seat lock store).
+ */
+public class QueueUnavailableException extends BusinessException {
+
+    private static final String ERROR_CODE = "QUEUE_UNAVAILABLE";
+
+    /**
+     * Creates a new QueueUnavailableException
+     */
+    public QueueUnavailableException() {
+        super(ERROR_CODE, "Queued registration is not available on this deployment; register directly instead");
+    }
+}
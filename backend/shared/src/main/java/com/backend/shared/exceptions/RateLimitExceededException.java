@@ -0,0 +1,29 @@
+package com.backend.shared.exceptions;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a client sends requests faster than its rate limit allows.
+ */
+@Getter
+public class RateLimitExceededException extends BusinessException {
+
+    private static final String ERROR_CODE = "RATE_LIMITED";
+
+    /**
+     * How long the client should wait before retrying
+     */
+    private final Duration retryAfter;
+
+    /**
+     * Creates a new RateLimitExceededException
+     *
+     * @param retryAfter How long the client should wait before retrying
+     */
+    public RateLimitExceededException(Duration retryAfter) {
+        super(ERROR_CODE, "Too many requests. Please retry later.");
+        this.retryAfter = retryAfter;
+    }
+}
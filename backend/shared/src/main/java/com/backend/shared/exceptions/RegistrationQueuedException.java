@@ -0,0 +1,23 @@
+package com.backend.shared.exceptions;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a direct registration is attempted for an event that
+ * is currently in queued mode because of high demand.
+ */
+public class RegistrationQueuedException extends BusinessException {
+
+    private static final String ERROR_CODE = "REGISTRATION_QUEUED";
+
+    /**
+     * Creates a new RegistrationQueuedException
+     *
+     * @param eventId The ID of the event
+     */
+    public RegistrationQueuedException(UUID eventId) {
+        super(
+                ERROR_CODE,
+                String.format("Event %s is under high demand; register through the queue instead", eventId));
+    }
+}
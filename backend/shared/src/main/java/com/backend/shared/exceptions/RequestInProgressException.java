@@ -0,0 +1,20 @@
+package com.backend.shared.exceptions;
+
+/**
+ * Exception thrown when a request is retried with an idempotency key whose
+ * original request is still being processed.
+ */
+public class RequestInProgressException extends BusinessException {
+
+    private static final String ERROR_CODE = "REQUEST_IN_PROGRESS";
+
+    /**
+     * Creates a new RequestInProgressException
+     *
+     * @param idempotencyKey The idempotency key sent by the client
+     */
+    public RequestInProgressException(String idempotencyKey) {
+        super(ERROR_CODE, String.format(
+                "A request with idempotency key %s is still being processed. Retry shortly.", idempotencyKey));
+    }
+}
@@ -0,0 +1,18 @@
+package com.backend.shared.exceptions;
+
+/**
+ * Exception thrown when a requested resource (booking, event, ...) does not
+ * exist or is not visible to the caller.
+ */
+public class ResourceNotFoundException extends BusinessException {
+
+    /**
+     * Creates a new ResourceNotFoundException
+     *
+     * @param errorCode   Error code naming the missing resource, e.g. BOOKING_NOT_FOUND
+     * @param userMessage User-friendly message to display to end users
+     */
+    public ResourceNotFoundException(String errorCode, String userMessage) {
+        super(errorCode, userMessage);
+    }
+}
@@ -0,0 +1,20 @@
+package com.backend.shared.exceptions;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when registration for an event has been paused by an operator.
+ */
+public class SalesPausedException extends BusinessException {
+
+    private static final String ERROR_CODE = "SALES_PAUSED";
+
+    /**
+     * Creates a new SalesPausedException
+     *
+     * @param eventId The ID of the event
+     */
+    public SalesPausedException(UUID eventId) {
+        super(ERROR_CODE, String.format("Sales for event %s are paused. Please try again later.", eventId));
+    }
+}
@@ -1,15 +1,24 @@
 package com.backend.shared.exceptions;
 
+import lombok.Getter;
+
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Exception thrown when attempting to book a seat that is already booked.
  * This is a critical business rule violation in the ticketing system.
  */
+@Getter
 public class SeatAlreadyBookedException extends BusinessException {
 
     private static final String ERROR_CODE = "SEAT_ALREADY_BOOKED";
 
+    /**
+     * Seats that could not be taken because someone else holds them
+     */
+    private final List<String> conflictingSeats;
+
     /**
      * Creates a new SeatAlreadyBookedException
      * 
@@ -20,6 +29,20 @@ public class SeatAlreadyBookedException extends BusinessException {
         super(
                 ERROR_CODE,
                 String.format("Seat %s for event %s is already booked", seatIdentifier, eventId));
+        this.conflictingSeats = List.of(seatIdentifier);
+    }
+
+    /**
+     * Creates a new SeatAlreadyBookedException for several conflicting seats
+     * 
+     * @param eventId          The ID of the event
+     * @param conflictingSeats The identifiers of the seats already taken
+     */
+    public SeatAlreadyBookedException(UUID eventId, List<String> conflictingSeats) {
+        super(
+                ERROR_CODE,
+                String.format("Seats %s for event %s are already booked", conflictingSeats, eventId));
+        this.conflictingSeats = List.copyOf(conflictingSeats);
     }
 
     /**
@@ -29,5 +52,6 @@ public class SeatAlreadyBookedException extends BusinessException {
      */
     public SeatAlreadyBookedException(String message) {
         super(ERROR_CODE, message);
+        this.conflictingSeats = List.of();
     }
 }
@@ -0,0 +1,23 @@
+package com.backend.shared.exceptions;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a seat map snapshot is requested for an event whose
+ * venue is not procedural, so no availability index exists to read it from.
+ */
+public class SeatMapNotIndexedException extends BusinessException {
+
+    private static final String ERROR_CODE = "SEAT_MAP_NOT_INDEXED";
+
+    /**
+     * Creates a new SeatMapNotIndexedException
+     *
+     * @param eventId The ID of the event
+     */
+    public SeatMapNotIndexedException(UUID eventId) {
+        super(
+                ERROR_CODE,
+                String.format("Event %s has no seat grid; its seat map cannot be snapshotted", eventId));
+    }
+}
@@ -0,0 +1,34 @@
+package com.backend.shared.exceptions;
+
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when an event has fewer seats left than requested.
+ */
+@Getter
+public class SoldOutException extends BusinessException {
+
+    private static final String ERROR_CODE = "SOLD_OUT";
+
+    /**
+     * Seats still available when the request was rejected
+     */
+    private final long remaining;
+
+    /**
+     * Creates a new SoldOutException
+     *
+     * @param eventId   The ID of the event
+     * @param requested Number of seats requested
+     * @param remaining Number of seats still available
+     */
+    public SoldOutException(UUID eventId, int requested, long remaining) {
+        super(ERROR_CODE, remaining <= 0
+                ? String.format("Event %s is sold out", eventId)
+                : String.format("Only %d seats are left for event %s, %d were requested",
+                        remaining, eventId, requested));
+        this.remaining = Math.max(0, remaining);
+    }
+}
@@ -0,0 +1,30 @@
+package com.backend.shared.inventory;
+
+/**
+ * Redis keys and pub/sub channel of the per-event sale flags (sold out, paused,
+ * routed through the registration queue).
+ *
+ * Each flag is a set of event IDs. Every change is published on {@link #CHANNEL}
+ * as "{flag}:{eventId}:{1|0}" so API nodes can keep an in-memory copy.
+ * The sold-out flag is maintained by the inventory scripts in the same atomic
+ * call that empties or refills the counter.
+ */
+public final class EventFlags {
+
+    public static final String CHANNEL = "event_flags";
+
+    public static final String SOLD_OUT = "sold_out";
+    public static final String PAUSED = "paused";
+    public static final String QUEUED = "queued";
+
+    public static final String SOLD_OUT_KEY = "event_flags:" + SOLD_OUT;
+    public static final String PAUSED_KEY = "event_flags:" + PAUSED;
+    public static final String QUEUED_KEY = "event_flags:" + QUEUED;
+
+    private EventFlags() {
+    }
+
+    public static String message(String flag, String eventId, boolean set) {
+        return flag + ":" + eventId + ":" + (set ? "1" : "0");
+    }
+}
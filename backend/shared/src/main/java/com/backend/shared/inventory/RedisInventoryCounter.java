@@ -0,0 +1,162 @@
+package com.backend.shared.inventory;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Remaining inventory of each event, reserved per seat before a booking locks it.
+ *
+ * Key layout:
+ * - inventory:{eventId}           remaining units, initialised from the event capacity
+ * - inventory_holds:{eventId}     open reservations "{userId}:{seatId}", scored by deadline
+ * - inventory_events              events with open reservations
+ * - event_flags:sold_out          events whose counter reached zero (see {@link EventFlags})
+ *
+ * Reservations are kept per owner and seat, like the seat locks, so the same
+ * user reserving the same seats through two bookings takes them only once.
+ * A reservation ends exactly once: confirmed (the units stay taken), released
+ * (given back on failure) or expired (given back once its deadline passes,
+ * e.g. when the booking command was lost). Every transition is a single atomic
+ * Redis call, so the API nodes and the registration workers can race freely.
+ */
+public class RedisInventoryCounter {
+
+    private static final String COUNTER_KEY_PREFIX = "inventory:";
+    private static final String HOLDS_KEY_PREFIX = "inventory_holds:";
+    private static final String EVENTS_KEY = "inventory_events";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RESERVE = script("reserve_inventory", List.class);
+    private static final RedisScript<Long> RELEASE = script("release_inventory", Long.class);
+    private static final RedisScript<Long> RELEASE_EXPIRED = script("release_expired_inventory", Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * @param redisTemplate Template using String serializers for keys and values
+     */
+    public RedisInventoryCounter(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Outcome of a reservation attempt.
+     *
+     * @param reserved  Whether the seats were taken
+     * @param remaining Inventory left afterwards (unchanged when not reserved)
+     * @param newSeats  Seats that were not reserved by the owner before this call
+     */
+    public record Reservation(boolean reserved, long remaining, List<String> newSeats) {
+    }
+
+    /**
+     * Reserves the seats for their owner until the deadline, or nothing if not
+     * enough is left. Seats the owner already reserved take no further units.
+     *
+     * @param capacity Event capacity, only used the first time the event is seen
+     */
+    public Reservation reserve(UUID eventId, UUID userId, List<String> seatIds, int capacity, Instant deadline) {
+        List<String> args = new ArrayList<>(seatIds.size() + 4);
+        args.add(String.valueOf(capacity));
+        args.add(String.valueOf(deadline.toEpochMilli()));
+        args.add(eventId.toString());
+        args.add(EventFlags.CHANNEL);
+        args.addAll(holdMembers(userId, seatIds));
+        List<?> result = redisTemplate.execute(RESERVE,
+                List.of(COUNTER_KEY_PREFIX + eventId, HOLDS_KEY_PREFIX + eventId, EVENTS_KEY,
+                        EventFlags.SOLD_OUT_KEY),
+                args.toArray());
+        if (result == null || result.size() < 3) {
+            return new Reservation(false, 0L, List.of());
+        }
+        List<String> newSeats = ((List<?>) result.get(2)).stream()
+                .map(position -> seatIds.get(((Number) position).intValue() - 1))
+                .toList();
+        return new Reservation(((Number) result.get(0)).longValue() == 1, ((Number) result.get(1)).longValue(),
+                newSeats);
+    }
+
+    /**
+     * Keeps the reserved seats of an owner for good.
+     *
+     * @return false if none of the reservations was still open
+     */
+    public boolean confirm(UUID eventId, UUID userId, List<String> seatIds) {
+        if (seatIds.isEmpty()) {
+            return false;
+        }
+        Long removed = redisTemplate.opsForZSet().remove(HOLDS_KEY_PREFIX + eventId,
+                holdMembers(userId, seatIds).toArray());
+        return removed != null && removed > 0;
+    }
+
+    /**
+     * Gives the reserved seats of an owner back.
+     *
+     * @return the number of seats given back; seats whose reservation had already ended are skipped
+     */
+    public long release(UUID eventId, UUID userId, List<String> seatIds) {
+        if (seatIds.isEmpty()) {
+            return 0L;
+        }
+        List<String> args = new ArrayList<>(seatIds.size() + 2);
+        args.add(eventId.toString());
+        args.add(EventFlags.CHANNEL);
+        args.addAll(holdMembers(userId, seatIds));
+        Long released = redisTemplate.execute(RELEASE,
+                List.of(COUNTER_KEY_PREFIX + eventId, HOLDS_KEY_PREFIX + eventId, EventFlags.SOLD_OUT_KEY),
+                args.toArray());
+        return released != null ? released : 0L;
+    }
+
+    /**
+     * Gives back the units of every reservation of the event past its deadline.
+     *
+     * @return the units given back
+     */
+    public long releaseExpired(UUID eventId, Instant now) {
+        Long units = redisTemplate.execute(RELEASE_EXPIRED,
+                List.of(COUNTER_KEY_PREFIX + eventId, HOLDS_KEY_PREFIX + eventId, EVENTS_KEY,
+                        EventFlags.SOLD_OUT_KEY),
+                String.valueOf(now.toEpochMilli()),
+                eventId.toString(),
+                EventFlags.CHANNEL);
+        return units != null ? units : 0L;
+    }
+
+    /**
+     * Events with open reservations.
+     */
+    public Set<UUID> eventsWithReservations() {
+        Set<Object> members = redisTemplate.opsForSet().members(EVENTS_KEY);
+        if (members == null) {
+            return Set.of();
+        }
+        return members.stream().map(member -> UUID.fromString(member.toString())).collect(Collectors.toSet());
+    }
+
+    /**
+     * Remaining inventory, empty until the first reservation initialised it.
+     */
+    public Optional<Long> remaining(UUID eventId) {
+        Object remaining = redisTemplate.opsForValue().get(COUNTER_KEY_PREFIX + eventId);
+        return Optional.ofNullable(remaining).map(value -> Long.parseLong(value.toString()));
+    }
+
+    private static List<String> holdMembers(UUID userId, List<String> seatIds) {
+        return seatIds.stream().map(seatId -> userId + ":" + seatId).toList();
+    }
+
+    private static <T> RedisScript<T> script(String name, Class<T> resultType) {
+        return RedisScript.of(new ClassPathResource("scripts/inventory/" + name + ".lua"), resultType);
+    }
+}
@@ -0,0 +1,67 @@
+package com.backend.shared.messaging;
+
+import com.backend.shared.enums.BookingPriority;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Topology of the partitioned registration queues.
+ *
+ * Booking commands are routed to one of N queues by hashing the event ID, so
+ * all commands of an event land on the same queue and are processed in order,
+ * while unrelated events are spread over the other partitions. Partition p is
+ * the queue "{queue}.{p}", bound to the registration exchange with the routing
+ * key "{routingKey}.{p}". Each queue allows a single active consumer, so order
+ * is kept even when several workers subscribe to the same partition (the
+ * others stand by). Queues are priority queues, so higher booking tiers of
+ * an event are delivered first. Rejected messages are dead-lettered (see
+ * {@link RegistrationRetryTopology}).
+ *
+ * The API and the workers must agree on the partition count: changing it
+ * re-maps events to different queues.
+ */
+public final class RegistrationPartitions {
+
+    private RegistrationPartitions() {
+    }
+
+    public static int partitionOf(UUID eventId, int partitions) {
+        return Math.floorMod(eventId.hashCode(), partitions);
+    }
+
+    public static String queueName(String queue, int partition) {
+        return queue + "." + partition;
+    }
+
+    public static String routingKey(String routingKey, int partition) {
+        return routingKey + "." + partition;
+    }
+
+    /**
+     * Declares every partition queue with its binding to the registration exchange.
+     */
+    public static Declarables declarables(DirectExchange exchange, String queue, String routingKey, int partitions) {
+        List<Declarable> declarables = new ArrayList<>(2 * partitions);
+        for (int p = 0; p < partitions; p++) {
+            Queue partitionQueue = QueueBuilder.durable(queueName(queue, p))
+                    .singleActiveConsumer()
+                    .maxPriority(BookingPriority.MAX_LEVEL)
+                    .deadLetterExchange(RegistrationRetryTopology.deadLetterExchange(exchange.getName()))
+                    .deadLetterRoutingKey(RegistrationRetryTopology.DEAD_LETTER_ROUTING_KEY)
+                    .build();
+            Binding binding = BindingBuilder.bind(partitionQueue).to(exchange).with(routingKey(routingKey, p));
+            declarables.add(partitionQueue);
+            declarables.add(binding);
+        }
+        return new Declarables(declarables);
+    }
+}
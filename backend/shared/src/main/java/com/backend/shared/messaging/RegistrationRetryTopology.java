@@ -0,0 +1,91 @@
+package com.backend.shared.messaging;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.HeadersExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delayed retry and dead-letter topology of the registration queues.
+ *
+ * A failed command is republished to the retry exchange with its original
+ * routing key and a {@link #RETRY_DELAY_HEADER}. The headers exchange routes it
+ * to the retry queue of that delay, whose TTL dead-letters it back to the
+ * registration exchange once the delay has passed. The original routing key is
+ * kept, so the command returns to its partition queue. Nothing consumes the
+ * retry queues, so waiting commands cost no worker time.
+ *
+ * Commands that exhausted their attempts, or cannot succeed, are published to
+ * the dead-letter exchange and kept in the dead-letter queue with the
+ * {@code x-failure-*} headers describing the last failure. Partition queues
+ * also dead-letter messages rejected by a listener there.
+ */
+public final class RegistrationRetryTopology {
+
+    public static final String RETRY_DELAY_HEADER = "x-retry-delay";
+    public static final String ATTEMPT_HEADER = "x-registration-attempt";
+    public static final String FAILURE_REASON_HEADER = "x-failure-reason";
+    public static final String FAILURE_EXCEPTION_HEADER = "x-failure-exception";
+    public static final String FAILURE_ROUTING_KEY_HEADER = "x-failure-routing-key";
+    public static final String FAILED_AT_HEADER = "x-failed-at";
+
+    public static final String DEAD_LETTER_ROUTING_KEY = "dead";
+
+    private RegistrationRetryTopology() {
+    }
+
+    public static String retryExchange(String exchange) {
+        return exchange + ".retry";
+    }
+
+    public static String deadLetterExchange(String exchange) {
+        return exchange + ".dlx";
+    }
+
+    public static String retryQueue(String queue, long delayMs) {
+        return queue + ".retry." + delayMs;
+    }
+
+    public static String deadLetterQueue(String queue) {
+        return queue + ".dlq";
+    }
+
+    /**
+     * Declares the retry exchange with one TTL queue per delay, and the
+     * dead-letter exchange and queue.
+     *
+     * @param exchange the registration exchange retried commands return to
+     * @param queue    base name of the registration queues
+     * @param delaysMs retry delays in milliseconds
+     */
+    public static Declarables declarables(DirectExchange exchange, String queue, List<Long> delaysMs) {
+        List<Declarable> declarables = new ArrayList<>(2 * delaysMs.size() + 4);
+
+        HeadersExchange retryExchange = new HeadersExchange(retryExchange(exchange.getName()));
+        declarables.add(retryExchange);
+        for (long delayMs : delaysMs) {
+            Queue retryQueue = QueueBuilder.durable(retryQueue(queue, delayMs))
+                    .ttl(Math.toIntExact(delayMs))
+                    .deadLetterExchange(exchange.getName())
+                    .build();
+            Binding binding = BindingBuilder.bind(retryQueue).to(retryExchange)
+                    .where(RETRY_DELAY_HEADER).matches(String.valueOf(delayMs));
+            declarables.add(retryQueue);
+            declarables.add(binding);
+        }
+
+        DirectExchange deadLetterExchange = new DirectExchange(deadLetterExchange(exchange.getName()));
+        Queue deadLetterQueue = QueueBuilder.durable(deadLetterQueue(queue)).build();
+        declarables.add(deadLetterExchange);
+        declarables.add(deadLetterQueue);
+        declarables.add(BindingBuilder.bind(deadLetterQueue).to(deadLetterExchange).with(DEAD_LETTER_ROUTING_KEY));
+        return new Declarables(declarables);
+    }
+}
@@ -1,5 +1,7 @@
 package com.backend.shared.messaging.commands;
 
+import com.backend.shared.enums.BookingPriority;
+import com.backend.shared.seating.SeatLayout;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.EqualsAndHashCode;
@@ -7,6 +9,7 @@ import lombok.Getter;
 import lombok.ToString;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -43,17 +46,40 @@ public class ProcessBookingCommand {
      */
     private final boolean fromQueue;
 
+    /**
+     * Fencing token per selected seat, issued when the seats were locked.
+     * The worker only confirms the booking if the locks still carry these tokens.
+     */
+    private final Map<String, Long> fencingTokens;
+
+    /**
+     * Priority tier of the user; commands queued before tiers existed are GENERAL
+     */
+    private final BookingPriority priority;
+
+    /**
+     * Seat grid of the event, so the worker can mark the seats BOOKED in the
+     * availability index; null for non-procedural venues and older commands
+     */
+    private final SeatLayout seatLayout;
+
     @JsonCreator
     public ProcessBookingCommand(
             @JsonProperty("bookingId") UUID bookingId,
             @JsonProperty("userId") UUID userId,
             @JsonProperty("eventId") UUID eventId,
             @JsonProperty("selectedSeats") List<String> selectedSeats,
-            @JsonProperty("fromQueue") boolean fromQueue) {
+            @JsonProperty("fromQueue") boolean fromQueue,
+            @JsonProperty("fencingTokens") Map<String, Long> fencingTokens,
+            @JsonProperty("priority") BookingPriority priority,
+            @JsonProperty("seatLayout") SeatLayout seatLayout) {
         this.bookingId = bookingId;
         this.userId = userId;
         this.eventId = eventId;
         this.selectedSeats = selectedSeats;
         this.fromQueue = fromQueue;
+        this.fencingTokens = fencingTokens != null ? fencingTokens : Map.of();
+        this.priority = priority != null ? priority : BookingPriority.GENERAL;
+        this.seatLayout = seatLayout;
     }
 }
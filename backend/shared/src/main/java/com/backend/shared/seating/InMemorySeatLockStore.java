@@ -0,0 +1,335 @@
+package com.backend.shared.seating;
+
+import com.backend.shared.enums.SeatStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-JVM implementation of {@link SeatLockStore} for a single node with direct
+ * registration only (its locks are invisible to other nodes and to the
+ * registration workers), benchmarks and tests without Redis.
+ *
+ * State is kept per event and guarded by a fixed set of lock stripes chosen by
+ * event ID, so every multi-seat operation on an event is atomic while unrelated
+ * events mostly proceed in parallel. Locks expire lazily: an expired lock is
+ * treated as absent by every operation, and {@link #evictExpired()} removes
+ * expired entries and reports them (the in-memory counterpart of Redis expiry
+ * notifications). Booked seats are kept as holds that never expire.
+ */
+public class InMemorySeatLockStore implements SeatLockStore {
+
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final ReentrantLock[] stripes;
+    private final Map<UUID, EventSeats> events = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+
+    public InMemorySeatLockStore() {
+        this(DEFAULT_STRIPES, System::nanoTime);
+    }
+
+    /**
+     * @param stripeCount Number of lock stripes
+     * @param nanoClock   Monotonic clock in nanoseconds (injectable for tests)
+     */
+    public InMemorySeatLockStore(int stripeCount, LongSupplier nanoClock) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive, got " + stripeCount);
+        }
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public SeatLockResult lock(UUID eventId, List<String> seatIds, UUID userId, Duration ttl, SeatLayout layout) {
+        ReentrantLock stripe = stripeOf(eventId);
+        stripe.lock();
+        try {
+            EventSeats seats = eventSeats(eventId);
+            long now = nanoClock.getAsLong();
+
+            List<String> conflicts = new ArrayList<>();
+            for (String seatId : seatIds) {
+                SeatHold hold = seats.activeHold(seatId, now);
+                if (hold != null && (hold.booked() || !hold.owner().equals(userId))) {
+                    conflicts.add(seatId);
+                }
+            }
+            if (!conflicts.isEmpty()) {
+                return new SeatLockResult(0L, conflicts);
+            }
+
+            long expiresAt = now + ttl.toNanos();
+            Map<String, Long> fencingTokens = new HashMap<>();
+            for (String seatId : seatIds) {
+                SeatHold current = seats.activeHold(seatId, now);
+                long fence = current != null ? current.fence() : seats.fences.merge(seatId, 1L, Long::sum);
+                seats.holds.put(seatId, new SeatHold(userId, expiresAt, fence, false));
+                seats.setStatus(layout, seatId, SeatStatus.LOCKED);
+                fencingTokens.put(seatId, fence);
+            }
+            return new SeatLockResult(++seats.version, List.of(), fencingTokens);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public SeatLockResult unlock(UUID eventId, List<String> seatIds, UUID userId, SeatLayout layout) {
+        ReentrantLock stripe = stripeOf(eventId);
+        stripe.lock();
+        try {
+            EventSeats seats = eventSeats(eventId);
+            long now = nanoClock.getAsLong();
+
+            List<String> released = new ArrayList<>();
+            for (String seatId : seatIds) {
+                SeatHold hold = seats.activeHold(seatId, now);
+                if (hold != null && !hold.booked() && hold.owner().equals(userId)) {
+                    seats.holds.remove(seatId);
+                    seats.setStatus(layout, seatId, SeatStatus.AVAILABLE);
+                    released.add(seatId);
+                }
+            }
+            return released.isEmpty()
+                    ? new SeatLockResult(0L, released)
+                    : new SeatLockResult(++seats.version, released);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public SeatLockResult extend(UUID eventId, List<String> seatIds, UUID userId, Duration ttl) {
+        ReentrantLock stripe = stripeOf(eventId);
+        stripe.lock();
+        try {
+            EventSeats seats = eventSeats(eventId);
+            long now = nanoClock.getAsLong();
+
+            List<String> extended = new ArrayList<>();
+            for (String seatId : seatIds) {
+                SeatHold hold = seats.activeHold(seatId, now);
+                if (hold != null && !hold.booked() && hold.owner().equals(userId)) {
+                    seats.holds.put(seatId, new SeatHold(userId, now + ttl.toNanos(), hold.fence(), false));
+                    extended.add(seatId);
+                }
+            }
+            return new SeatLockResult(0L, extended);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public SeatLockResult releaseExpired(UUID eventId, List<String> seatIds, SeatLayout layout) {
+        ReentrantLock stripe = stripeOf(eventId);
+        stripe.lock();
+        try {
+            EventSeats seats = eventSeats(eventId);
+            long now = nanoClock.getAsLong();
+
+            List<String> expired = new ArrayList<>();
+            boolean changed = false;
+            for (String seatId : seatIds) {
+                if (seats.activeHold(seatId, now) == null) {
+                    expired.add(seatId);
+                    if (seats.statusOf(layout, seatId) == SeatStatus.LOCKED) {
+                        seats.setStatus(layout, seatId, SeatStatus.AVAILABLE);
+                        changed = true;
+                    }
+                }
+            }
+            return new SeatLockResult(changed ? ++seats.version : seats.version, expired);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public SeatLockResult verifyFences(UUID eventId, Map<String, Long> fencingTokens, UUID userId) {
+        ReentrantLock stripe = stripeOf(eventId);
+        stripe.lock();
+        try {
+            return new SeatLockResult(0L, staleSeats(eventSeats(eventId), fencingTokens, userId));
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public SeatLockResult book(UUID eventId, Map<String, Long> fencingTokens, UUID userId, SeatLayout layout) {
+        ReentrantLock stripe = stripeOf(eventId);
+        stripe.lock();
+        try {
+            EventSeats seats = eventSeats(eventId);
+            List<String> stale = staleSeats(seats, fencingTokens, userId);
+            if (!stale.isEmpty()) {
+                return new SeatLockResult(0L, stale);
+            }
+
+            for (Map.Entry<String, Long> token : fencingTokens.entrySet()) {
+                seats.holds.put(token.getKey(), new SeatHold(userId, 0L, token.getValue(), true));
+                seats.setStatus(layout, token.getKey(), SeatStatus.BOOKED);
+            }
+            return new SeatLockResult(++seats.version, List.of());
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public SeatLockResult unbook(UUID eventId, List<String> seatIds, UUID userId, Duration ttl, SeatLayout layout) {
+        ReentrantLock stripe = stripeOf(eventId);
+        stripe.lock();
+        try {
+            EventSeats seats = eventSeats(eventId);
+            long expiresAt = nanoClock.getAsLong() + ttl.toNanos();
+
+            List<String> restored = new ArrayList<>();
+            for (String seatId : seatIds) {
+                SeatHold hold = seats.holds.get(seatId);
+                if (hold != null && hold.booked() && hold.owner().equals(userId)) {
+                    seats.holds.put(seatId, new SeatHold(userId, expiresAt, hold.fence(), false));
+                    seats.setStatus(layout, seatId, SeatStatus.LOCKED);
+                    restored.add(seatId);
+                }
+            }
+            return restored.isEmpty()
+                    ? new SeatLockResult(0L, restored)
+                    : new SeatLockResult(++seats.version, restored);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public boolean areAllLocked(UUID eventId, List<String> seatIds) {
+        ReentrantLock stripe = stripeOf(eventId);
+        stripe.lock();
+        try {
+            EventSeats seats = events.get(eventId);
+            long now = nanoClock.getAsLong();
+            return seats != null && seatIds.stream().allMatch(seatId -> seats.activeHold(seatId, now) != null);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public SeatMapState readSeatMap(UUID eventId) {
+        ReentrantLock stripe = stripeOf(eventId);
+        stripe.lock();
+        try {
+            EventSeats seats = events.get(eventId);
+            return seats == null
+                    ? new SeatMapState(new byte[0], 0L)
+                    : new SeatMapState(seats.index.clone(), seats.version);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Removes expired locks. The index is left as is; pass the returned seats
+     * to {@link #releaseExpired} to publish them as available.
+     *
+     * @return the seats whose lock expired, per event
+     */
+    public Map<UUID, List<String>> evictExpired() {
+        Map<UUID, List<String>> expired = new HashMap<>();
+        for (Map.Entry<UUID, EventSeats> entry : events.entrySet()) {
+            ReentrantLock stripe = stripeOf(entry.getKey());
+            stripe.lock();
+            try {
+                long now = nanoClock.getAsLong();
+                Iterator<Map.Entry<String, SeatHold>> holds = entry.getValue().holds.entrySet().iterator();
+                while (holds.hasNext()) {
+                    Map.Entry<String, SeatHold> hold = holds.next();
+                    if (hold.getValue().isExpired(now)) {
+                        holds.remove();
+                        expired.computeIfAbsent(entry.getKey(), id -> new ArrayList<>()).add(hold.getKey());
+                    }
+                }
+            } finally {
+                stripe.unlock();
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * @return the seats not held (locked or booked) by the user under their token
+     */
+    private List<String> staleSeats(EventSeats seats, Map<String, Long> fencingTokens, UUID userId) {
+        long now = nanoClock.getAsLong();
+        List<String> stale = new ArrayList<>();
+        for (Map.Entry<String, Long> token : fencingTokens.entrySet()) {
+            SeatHold hold = seats.activeHold(token.getKey(), now);
+            if (hold == null || !hold.owner().equals(userId)
+                    || !Long.valueOf(hold.fence()).equals(token.getValue())) {
+                stale.add(token.getKey());
+            }
+        }
+        return stale;
+    }
+
+    private EventSeats eventSeats(UUID eventId) {
+        return events.computeIfAbsent(eventId, id -> new EventSeats());
+    }
+
+    private ReentrantLock stripeOf(UUID eventId) {
+        return stripes[(eventId.hashCode() & Integer.MAX_VALUE) % stripes.length];
+    }
+
+    /**
+     * A lock, or a permanent marker once booked (booked holds never expire).
+     */
+    private record SeatHold(UUID owner, long expiresAt, long fence, boolean booked) {
+        boolean isExpired(long now) {
+            return !booked && now - expiresAt >= 0;
+        }
+    }
+
+    /**
+     * Locks, index, version and last fencing token per seat of one event.
+     * Only accessed under its stripe.
+     */
+    private static final class EventSeats {
+        private final Map<String, SeatHold> holds = new HashMap<>();
+        private final Map<String, Long> fences = new HashMap<>();
+        private byte[] index = new byte[0];
+        private long version;
+
+        SeatHold activeHold(String seatId, long now) {
+            SeatHold hold = holds.get(seatId);
+            return hold == null || hold.isExpired(now) ? null : hold;
+        }
+
+        SeatStatus statusOf(SeatLayout layout, String seatId) {
+            int seatIndex = layout != null ? layout.indexOf(seatId) : SeatLayout.NO_INDEX;
+            return seatIndex == SeatLayout.NO_INDEX
+                    ? SeatStatus.AVAILABLE
+                    : new SeatMapState(index, version).statusAt(seatIndex);
+        }
+
+        void setStatus(SeatLayout layout, String seatId, SeatStatus status) {
+            int seatIndex = layout != null ? layout.indexOf(seatId) : SeatLayout.NO_INDEX;
+            if (seatIndex != SeatLayout.NO_INDEX) {
+                index = SeatMapState.withStatus(index, seatIndex, status);
+            }
+        }
+    }
+}
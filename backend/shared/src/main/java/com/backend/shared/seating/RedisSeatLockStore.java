@@ -0,0 +1,305 @@
+package com.backend.shared.seating;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Redis implementation of {@link SeatLockStore}.
+ *
+ * Key layout:
+ * - seat_lock:{eventId}:{seatId}    lock value "locked_by_{userId}", with TTL, or
+ *                                   "booked_by_{userId}" without TTL once the seat is sold
+ * - seat_index:{eventId}            BITFIELD u2 status per seat
+ * - seat_index_version:{eventId}    seat map version counter
+ * - seat_fence:{eventId}            hash of lock key -> last fencing token issued
+ *
+ * Every multi-seat operation is a single Lua script call, so it is atomic and
+ * costs one round trip regardless of the number of seats. Fence checks of
+ * several bookings are pipelined into one round trip as well.
+ */
+public class RedisSeatLockStore implements SeatLockStore {
+
+    public static final String LOCK_KEY_PREFIX = "seat_lock:";
+    private static final String INDEX_KEY_PREFIX = "seat_index:";
+    private static final String VERSION_KEY_PREFIX = "seat_index_version:";
+    private static final String FENCE_KEY_PREFIX = "seat_fence:";
+    private static final String LOCK_VALUE_PREFIX = "locked_by_";
+    private static final String BOOKED_VALUE_PREFIX = "booked_by_";
+    private static final int EVENT_ID_LENGTH = 36;
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LOCK_SEATS = script("lock_seats");
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> UNLOCK_SEATS = script("unlock_seats");
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> EXTEND_SEATS = script("extend_seats");
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RELEASE_EXPIRED_SEATS = script("release_expired_seats");
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> VERIFY_FENCES = script("verify_fences");
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> BOOK_SEATS = script("book_seats");
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> UNBOOK_SEATS = script("unbook_seats");
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * @param redisTemplate Template using String serializers for keys and values
+     */
+    public RedisSeatLockStore(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public SeatLockResult lock(UUID eventId, List<String> seatIds, UUID userId, Duration ttl, SeatLayout layout) {
+        List<Object> args = new ArrayList<>(seatIds.size() + 2);
+        args.add(lockValue(userId));
+        args.add(String.valueOf(ttl.toMillis()));
+        args.addAll(offsetsOf(seatIds, layout));
+        return execute(LOCK_SEATS, eventId, seatIds, args);
+    }
+
+    @Override
+    public SeatLockResult unlock(UUID eventId, List<String> seatIds, UUID userId, SeatLayout layout) {
+        List<Object> args = new ArrayList<>(seatIds.size() + 1);
+        args.add(lockValue(userId));
+        args.addAll(offsetsOf(seatIds, layout));
+        return execute(UNLOCK_SEATS, eventId, seatIds, args);
+    }
+
+    @Override
+    public SeatLockResult extend(UUID eventId, List<String> seatIds, UUID userId, Duration ttl) {
+        return execute(EXTEND_SEATS, eventId, seatIds, List.of(lockValue(userId), String.valueOf(ttl.toMillis())));
+    }
+
+    @Override
+    public SeatLockResult releaseExpired(UUID eventId, List<String> seatIds, SeatLayout layout) {
+        return execute(RELEASE_EXPIRED_SEATS, eventId, seatIds, new ArrayList<>(offsetsOf(seatIds, layout)));
+    }
+
+    @Override
+    public SeatLockResult verifyFences(UUID eventId, Map<String, Long> fencingTokens, UUID userId) {
+        FenceCheck check = new FenceCheck(eventId, fencingTokens, userId);
+        List<String> seatIds = new ArrayList<>(fencingTokens.keySet());
+        return execute(VERIFY_FENCES, eventId, seatIds, verifyArgs(check, seatIds));
+    }
+
+    @Override
+    public List<List<String>> verifyFencesAll(List<FenceCheck> checks) {
+        List<ScriptCall> calls = checks.stream()
+                .map(check -> {
+                    List<String> seatIds = List.copyOf(check.fencingTokens().keySet());
+                    return new ScriptCall(check.eventId(), seatIds, verifyArgs(check, seatIds));
+                })
+                .toList();
+        return executePipelined(VERIFY_FENCES, calls).stream().map(SeatLockResult::seatIds).toList();
+    }
+
+    @Override
+    public SeatLockResult book(UUID eventId, Map<String, Long> fencingTokens, UUID userId, SeatLayout layout) {
+        SeatBooking booking = new SeatBooking(eventId, fencingTokens, userId, layout);
+        List<String> seatIds = new ArrayList<>(fencingTokens.keySet());
+        return execute(BOOK_SEATS, eventId, seatIds, bookArgs(booking, seatIds));
+    }
+
+    @Override
+    public List<SeatLockResult> bookAll(List<SeatBooking> bookings) {
+        List<ScriptCall> calls = bookings.stream()
+                .map(booking -> {
+                    List<String> seatIds = List.copyOf(booking.fencingTokens().keySet());
+                    return new ScriptCall(booking.eventId(), seatIds, bookArgs(booking, seatIds));
+                })
+                .toList();
+        return executePipelined(BOOK_SEATS, calls);
+    }
+
+    @Override
+    public SeatLockResult unbook(UUID eventId, List<String> seatIds, UUID userId, Duration ttl, SeatLayout layout) {
+        List<Object> args = new ArrayList<>(seatIds.size() + 3);
+        args.add(bookedValue(userId));
+        args.add(lockValue(userId));
+        args.add(String.valueOf(ttl.toMillis()));
+        args.addAll(offsetsOf(seatIds, layout));
+        return execute(UNBOOK_SEATS, eventId, seatIds, args);
+    }
+
+    @Override
+    public boolean areAllLocked(UUID eventId, List<String> seatIds) {
+        List<String> keys = seatIds.stream().distinct().map(seatId -> lockKey(eventId, seatId)).toList();
+        Long existing = redisTemplate.countExistingKeys(keys);
+        return existing != null && existing == keys.size();
+    }
+
+    @Override
+    public SeatMapState readSeatMap(UUID eventId) {
+        byte[] indexKey = (INDEX_KEY_PREFIX + eventId).getBytes(StandardCharsets.UTF_8);
+        byte[] versionKey = (VERSION_KEY_PREFIX + eventId).getBytes(StandardCharsets.UTF_8);
+        List<byte[]> values = redisTemplate.execute(
+                (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(indexKey, versionKey));
+
+        byte[] index = values != null && values.get(0) != null ? values.get(0) : new byte[0];
+        long version = values != null && values.get(1) != null
+                ? Long.parseLong(new String(values.get(1), StandardCharsets.UTF_8))
+                : 0L;
+        return new SeatMapState(index, version);
+    }
+
+    public static String lockKey(UUID eventId, String seatId) {
+        return LOCK_KEY_PREFIX + eventId + ":" + seatId;
+    }
+
+    /**
+     * Parses a seat_lock:{eventId}:{seatId} key.
+     *
+     * @return the event ID and seat ID, or empty if the key is not a seat lock
+     */
+    public static Optional<SeatRef> parseLockKey(String key) {
+        if (key == null || !key.startsWith(LOCK_KEY_PREFIX)) {
+            return Optional.empty();
+        }
+        String eventAndSeat = key.substring(LOCK_KEY_PREFIX.length());
+        if (eventAndSeat.length() <= EVENT_ID_LENGTH + 1 || eventAndSeat.charAt(EVENT_ID_LENGTH) != ':') {
+            return Optional.empty();
+        }
+        try {
+            UUID eventId = UUID.fromString(eventAndSeat.substring(0, EVENT_ID_LENGTH));
+            return Optional.of(new SeatRef(eventId, eventAndSeat.substring(EVENT_ID_LENGTH + 1)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * A seat of an event, as encoded in a lock key.
+     */
+    public record SeatRef(UUID eventId, String seatId) {
+    }
+
+    /**
+     * Runs a seat script over the seats' lock keys followed by the event's
+     * index, version and fence keys. Scripts return {version, 1-based seat
+     * positions}, optionally followed by a fencing token per seat.
+     */
+    @SuppressWarnings("rawtypes")
+    private SeatLockResult execute(RedisScript<List> script, UUID eventId, List<String> seatIds, List<?> args) {
+        return toResult(redisTemplate.execute(script, keysOf(eventId, seatIds), args.toArray()), seatIds);
+    }
+
+    /**
+     * One script call of a pipeline.
+     */
+    private record ScriptCall(UUID eventId, List<String> seatIds, List<String> args) {
+    }
+
+    /**
+     * Runs a seat script once per call in a single pipeline. EVAL is used rather
+     * than EVALSHA, as a NOSCRIPT error cannot be retried inside a pipeline.
+     */
+    @SuppressWarnings("rawtypes")
+    private List<SeatLockResult> executePipelined(RedisScript<List> script, List<ScriptCall> calls) {
+        if (calls.isEmpty()) {
+            return List.of();
+        }
+        byte[] source = script.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (ScriptCall call : calls) {
+                List<String> keys = keysOf(call.eventId(), call.seatIds());
+                List<byte[]> keysAndArgs = new ArrayList<>(keys.size() + call.args().size());
+                keys.forEach(key -> keysAndArgs.add(key.getBytes(StandardCharsets.UTF_8)));
+                call.args().forEach(arg -> keysAndArgs.add(arg.getBytes(StandardCharsets.UTF_8)));
+                connection.scriptingCommands().eval(source, ReturnType.MULTI, keys.size(),
+                        keysAndArgs.toArray(new byte[0][]));
+            }
+            return null;
+        });
+
+        List<SeatLockResult> seatLockResults = new ArrayList<>(calls.size());
+        for (int i = 0; i < calls.size(); i++) {
+            seatLockResults.add(toResult((List<?>) results.get(i), calls.get(i).seatIds()));
+        }
+        return seatLockResults;
+    }
+
+    private static SeatLockResult toResult(List<?> result, List<String> seatIds) {
+        if (result == null || result.size() < 2) {
+            return new SeatLockResult(0L, List.of());
+        }
+        long version = ((Number) result.get(0)).longValue();
+        List<String> seats = ((List<?>) result.get(1)).stream()
+                .map(position -> seatIds.get(((Number) position).intValue() - 1))
+                .toList();
+
+        Map<String, Long> fencingTokens = new HashMap<>();
+        if (result.size() > 2) {
+            List<?> tokens = (List<?>) result.get(2);
+            for (int i = 0; i < tokens.size(); i++) {
+                fencingTokens.put(seatIds.get(i), ((Number) tokens.get(i)).longValue());
+            }
+        }
+        return new SeatLockResult(version, seats, fencingTokens);
+    }
+
+    private static List<String> verifyArgs(FenceCheck check, List<String> seatIds) {
+        List<String> args = new ArrayList<>(seatIds.size() + 2);
+        args.add(lockValue(check.userId()));
+        for (String seatId : seatIds) {
+            args.add(String.valueOf(check.fencingTokens().get(seatId)));
+        }
+        args.add(bookedValue(check.userId()));
+        return args;
+    }
+
+    private static List<String> bookArgs(SeatBooking booking, List<String> seatIds) {
+        List<String> args = new ArrayList<>(2 * seatIds.size() + 2);
+        args.add(lockValue(booking.userId()));
+        args.add(bookedValue(booking.userId()));
+        for (String seatId : seatIds) {
+            args.add(String.valueOf(booking.fencingTokens().get(seatId)));
+        }
+        args.addAll(offsetsOf(seatIds, booking.layout()));
+        return args;
+    }
+
+    private static List<String> keysOf(UUID eventId, List<String> seatIds) {
+        List<String> keys = new ArrayList<>(seatIds.size() + 3);
+        for (String seatId : seatIds) {
+            keys.add(lockKey(eventId, seatId));
+        }
+        keys.add(INDEX_KEY_PREFIX + eventId);
+        keys.add(VERSION_KEY_PREFIX + eventId);
+        keys.add(FENCE_KEY_PREFIX + eventId);
+        return keys;
+    }
+
+    private static List<String> offsetsOf(List<String> seatIds, SeatLayout layout) {
+        return seatIds.stream()
+                .map(seatId -> String.valueOf(layout != null ? layout.indexOf(seatId) : SeatLayout.NO_INDEX))
+                .toList();
+    }
+
+    private static String lockValue(UUID userId) {
+        return LOCK_VALUE_PREFIX + userId;
+    }
+
+    private static String bookedValue(UUID userId) {
+        return BOOKED_VALUE_PREFIX + userId;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static RedisScript<List> script(String name) {
+        return RedisScript.of(new ClassPathResource("scripts/seating/" + name + ".lua"), List.class);
+    }
+}
@@ -0,0 +1,133 @@
+package com.backend.shared.seating;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rectangular seat grid of a procedural venue (e.g. a movie theatre).
+ * Maps seat identifiers to a dense row-major index (row * cols + col) used by
+ * the per-event availability index.
+ *
+ * Supported seat identifiers:
+ * - Row letters followed by a 1-based column: "A1", "C12", "AA3"
+ * - 1-based numeric row and column: "3-12"
+ *
+ * @param rows Number of rows
+ * @param cols Number of columns (seats per row)
+ */
+public record SeatLayout(int rows, int cols) {
+
+    /**
+     * Index returned for identifiers that are not part of the grid
+     */
+    public static final int NO_INDEX = -1;
+
+    private static final Pattern LETTER_ROW = Pattern.compile("([A-Z]+)(\\d+)");
+    private static final Pattern NUMERIC_ROW = Pattern.compile("(\\d+)-(\\d+)");
+
+    public SeatLayout {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Seat layout needs positive rows and cols, got " + rows + "x" + cols);
+        }
+    }
+
+    /**
+     * Total number of seats in the grid
+     */
+    public int size() {
+        return rows * cols;
+    }
+
+    /**
+     * Canonical form of a seat identifier: trimmed, upper case, numeric rows
+     * written as letters and no leading zeros ("3-12" and "c012" become "C12"). Seat IDs are canonicalized once
+     * where they enter the system, so lock keys, fencing tokens, the index and
+     * tickets all agree on one spelling per seat.
+     *
+     * @return the canonical identifier, or null for null
+     */
+    public static String canonicalId(String seatId) {
+        if (seatId == null) {
+            return null;
+        }
+        String normalized = seatId.trim().toUpperCase(Locale.ROOT);
+        Matcher letter = LETTER_ROW.matcher(normalized);
+        Matcher numeric = NUMERIC_ROW.matcher(normalized);
+        try {
+            if (letter.matches() && Integer.parseInt(letter.group(2)) > 0) {
+                // "A01" and "A1" are the same seat
+                return letter.group(1) + Integer.parseInt(letter.group(2));
+            }
+            if (numeric.matches() && Integer.parseInt(numeric.group(1)) > 0
+                    && Integer.parseInt(numeric.group(2)) > 0) {
+                return rowLabel(Integer.parseInt(numeric.group(1)) - 1) + Integer.parseInt(numeric.group(2));
+            }
+        } catch (NumberFormatException e) {
+            // Out of int range: not a grid seat, kept as written
+        }
+        return normalized;
+    }
+
+    /**
+     * Resolves a seat identifier to its row-major index.
+     *
+     * @param seatId The seat identifier
+     * @return The index, or {@link #NO_INDEX} if the identifier is not on the grid
+     */
+    public int indexOf(String seatId) {
+        if (seatId == null) {
+            return NO_INDEX;
+        }
+        String normalized = canonicalId(seatId);
+
+        int row;
+        int col;
+        Matcher letter = LETTER_ROW.matcher(normalized);
+        Matcher numeric = NUMERIC_ROW.matcher(normalized);
+        try {
+            if (letter.matches()) {
+                row = rowIndexOf(letter.group(1));
+                col = Integer.parseInt(letter.group(2)) - 1;
+            } else if (numeric.matches()) {
+                row = Integer.parseInt(numeric.group(1)) - 1;
+                col = Integer.parseInt(numeric.group(2)) - 1;
+            } else {
+                return NO_INDEX;
+            }
+        } catch (NumberFormatException | ArithmeticException e) {
+            return NO_INDEX;
+        }
+
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return NO_INDEX;
+        }
+        return row * cols + col;
+    }
+
+    /**
+     * Canonical letter-row label of an index (e.g. 0 -> "A1").
+     */
+    public String labelOf(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IllegalArgumentException("Seat index " + index + " is outside a " + rows + "x" + cols + " layout");
+        }
+        return rowLabel(index / cols) + (index % cols + 1);
+    }
+
+    private static int rowIndexOf(String letters) {
+        int row = 0;
+        for (char c : letters.toCharArray()) {
+            row = Math.addExact(Math.multiplyExact(row, 26), c - 'A' + 1);
+        }
+        return row - 1;
+    }
+
+    private static String rowLabel(int row) {
+        StringBuilder label = new StringBuilder();
+        for (int n = row + 1; n > 0; n = (n - 1) / 26) {
+            label.insert(0, (char) ('A' + (n - 1) % 26));
+        }
+        return label.toString();
+    }
+}
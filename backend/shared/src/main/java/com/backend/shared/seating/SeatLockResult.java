@@ -0,0 +1,23 @@
+package com.backend.shared.seating;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a {@link SeatLockStore} operation.
+ *
+ * @param version       Seat map version after the operation (0 when a lock attempt changed nothing)
+ * @param seatIds       Seats the operation reports on: conflicts for a lock, released seats for an unlock
+ * @param fencingTokens Fencing token per seat after a successful lock, empty otherwise
+ */
+public record SeatLockResult(long version, List<String> seatIds, Map<String, Long> fencingTokens) {
+
+    public SeatLockResult {
+        seatIds = List.copyOf(seatIds);
+        fencingTokens = Map.copyOf(fencingTokens);
+    }
+
+    public SeatLockResult(long version, List<String> seatIds) {
+        this(version, seatIds, Map.of());
+    }
+}
@@ -0,0 +1,129 @@
+package com.backend.shared.seating;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Storage of temporary seat locks and of the per-event seat availability index.
+ *
+ * Implementations keep three things consistent with each other in a single
+ * atomic operation: the seat locks, the 2-bit availability index of procedural
+ * venues (see {@link SeatMapState}) and the per-event seat map version.
+ *
+ * Every lock acquisition also issues a fencing token per seat, strictly
+ * greater than any token issued before for that seat. Work that acts on a lock
+ * later (e.g. confirming tickets) presents its tokens to {@link #verifyFences}
+ * and is rejected if the lock expired or was re-taken in the meantime. Once
+ * the work is committed, {@link #book} turns the locks into permanent markers.
+ *
+ * A {@code null} layout means the venue is not procedural: locks still work,
+ * but no index entry is maintained.
+ */
+public interface SeatLockStore {
+
+    /**
+     * Locks all seats for the user, or none of them. Seats already held by the
+     * same user are re-locked with a fresh TTL and keep their fencing token.
+     *
+     * @return the new seat map version, the conflicting seats (empty on success)
+     *         and the fencing token of every seat (empty on conflict)
+     */
+    SeatLockResult lock(UUID eventId, List<String> seatIds, UUID userId, Duration ttl, SeatLayout layout);
+
+    /**
+     * Releases the seats still held by the user. Seats held by anyone else are left untouched.
+     *
+     * @return the new seat map version and the seats actually released
+     */
+    SeatLockResult unlock(UUID eventId, List<String> seatIds, UUID userId, SeatLayout layout);
+
+    /**
+     * Resets the TTL of the seats still held by the user. The seat map is unchanged.
+     *
+     * @return the seats whose lock was extended (version is always 0)
+     */
+    SeatLockResult extend(UUID eventId, List<String> seatIds, UUID userId, Duration ttl);
+
+    /**
+     * Clears the index of seats whose lock expired. Idempotent; seats that were
+     * locked again in the meantime are skipped.
+     *
+     * @return the current seat map version and the seats that are available again
+     */
+    SeatLockResult releaseExpired(UUID eventId, List<String> seatIds, SeatLayout layout);
+
+    /**
+     * Checks atomically that the user still holds every seat under the given fencing token.
+     * Seats the user already booked under the same token count as held.
+     *
+     * @return the seats no longer held under their token (empty when all are valid; version is always 0)
+     */
+    SeatLockResult verifyFences(UUID eventId, Map<String, Long> fencingTokens, UUID userId);
+
+    /**
+     * One booking's fencing tokens, checked by {@link #verifyFencesAll}.
+     */
+    record FenceCheck(UUID eventId, Map<String, Long> fencingTokens, UUID userId) {
+    }
+
+    /**
+     * Runs {@link #verifyFences} for several bookings; each check is atomic on its own.
+     * Stores that can do so answer all checks in one round trip.
+     *
+     * @return the stale seats of each check, in the order of the checks
+     */
+    default List<List<String>> verifyFencesAll(List<FenceCheck> checks) {
+        return checks.stream()
+                .map(check -> verifyFences(check.eventId(), check.fencingTokens(), check.userId()).seatIds())
+                .toList();
+    }
+
+    /**
+     * Turns the user's locks into permanent BOOKED markers, atomically and only if
+     * every seat is still held under its fencing token. Booked seats cannot be
+     * locked, never expire and are BOOKED in the index. Seats the user already
+     * booked under the same tokens count as held.
+     *
+     * @return the new seat map version and the seats no longer held (nothing was
+     *         booked unless empty)
+     */
+    SeatLockResult book(UUID eventId, Map<String, Long> fencingTokens, UUID userId, SeatLayout layout);
+
+    /**
+     * One booking converted by {@link #bookAll}.
+     */
+    record SeatBooking(UUID eventId, Map<String, Long> fencingTokens, UUID userId, SeatLayout layout) {
+    }
+
+    /**
+     * Runs {@link #book} for several bookings; each booking is atomic on its own.
+     * Stores that can do so answer all bookings in one round trip.
+     *
+     * @return the result of each booking, in order
+     */
+    default List<SeatLockResult> bookAll(List<SeatBooking> bookings) {
+        return bookings.stream()
+                .map(booking -> book(booking.eventId(), booking.fencingTokens(), booking.userId(), booking.layout()))
+                .toList();
+    }
+
+    /**
+     * Turns the user's BOOKED markers back into locks living for ttl, when the
+     * booking that converted them was rolled back. Fencing tokens are kept.
+     *
+     * @return the new seat map version and the seats locked again
+     */
+    SeatLockResult unbook(UUID eventId, List<String> seatIds, UUID userId, Duration ttl, SeatLayout layout);
+
+    /**
+     * Whether every seat currently holds a lock, in one round trip.
+     */
+    boolean areAllLocked(UUID eventId, List<String> seatIds);
+
+    /**
+     * Reads the availability index and version of an event together.
+     */
+    SeatMapState readSeatMap(UUID eventId);
+}
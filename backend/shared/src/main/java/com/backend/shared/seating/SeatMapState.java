@@ -0,0 +1,59 @@
+package com.backend.shared.seating;
+
+import com.backend.shared.enums.SeatStatus;
+
+import java.util.Arrays;
+
+/**
+ * Raw availability index of an event and the seat map version it belongs to.
+ *
+ * The index packs a 2-bit status per seat (SeatStatus ordinals) in row-major
+ * seat order, most significant bits first, matching Redis BITFIELD u2 offsets.
+ * Missing trailing bytes mean AVAILABLE.
+ *
+ * @param index   Packed seat statuses
+ * @param version Seat map version
+ */
+public record SeatMapState(byte[] index, long version) {
+
+    static final int BITS_PER_SEAT = 2;
+    static final int SEATS_PER_BYTE = Byte.SIZE / BITS_PER_SEAT;
+
+    private static final SeatStatus[] STATUSES = SeatStatus.values();
+
+    /**
+     * Number of seats covered by the stored bytes
+     */
+    public int indexedSeats() {
+        return index.length * SEATS_PER_BYTE;
+    }
+
+    /**
+     * Status of one seat.
+     */
+    public SeatStatus statusAt(int seatIndex) {
+        int byteIndex = seatIndex / SEATS_PER_BYTE;
+        if (byteIndex >= index.length) {
+            return SeatStatus.AVAILABLE;
+        }
+        int value = (index[byteIndex] >> shiftOf(seatIndex)) & 0b11;
+        return value < STATUSES.length ? STATUSES[value] : SeatStatus.AVAILABLE;
+    }
+
+    /**
+     * Writes a status into a packed index, growing it if needed.
+     *
+     * @return the index to keep (a new array when it had to grow)
+     */
+    static byte[] withStatus(byte[] index, int seatIndex, SeatStatus status) {
+        int byteIndex = seatIndex / SEATS_PER_BYTE;
+        byte[] target = byteIndex < index.length ? index : Arrays.copyOf(index, byteIndex + 1);
+        int shift = shiftOf(seatIndex);
+        target[byteIndex] = (byte) ((target[byteIndex] & ~(0b11 << shift)) | (status.ordinal() << shift));
+        return target;
+    }
+
+    private static int shiftOf(int seatIndex) {
+        return Byte.SIZE - BITS_PER_SEAT * (seatIndex % SEATS_PER_BYTE + 1);
+    }
+}
@@ -0,0 +1,55 @@
+package com.backend.shared.seating;
+
+import com.backend.shared.enums.SeatStatus;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Pub/sub channel on which services other than the API (the registration
+ * workers) publish the seat map changes they make, so API nodes can broadcast
+ * them to clients and the seat map versions stay gapless.
+ *
+ * A message is one line per field: event ID, version, status, user ID, then
+ * one line per seat.
+ */
+public final class SeatStatusChannel {
+
+    public static final String CHANNEL = "seat_status";
+
+    private static final String SEPARATOR = "\n";
+    private static final int HEADER_FIELDS = 4;
+
+    private SeatStatusChannel() {
+    }
+
+    /**
+     * A seat map change.
+     *
+     * @param version Seat map version returned by the store operation
+     */
+    public record Delta(UUID eventId, long version, SeatStatus status, List<String> seatIds, UUID userId) {
+    }
+
+    public static String message(Delta delta) {
+        return delta.eventId() + SEPARATOR + delta.version() + SEPARATOR + delta.status() + SEPARATOR
+                + delta.userId() + SEPARATOR + String.join(SEPARATOR, delta.seatIds());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the message is malformed
+     */
+    public static Delta parse(String message) {
+        String[] fields = message.split(SEPARATOR);
+        if (fields.length <= HEADER_FIELDS) {
+            throw new IllegalArgumentException("Seat status message without seats: " + message);
+        }
+        return new Delta(
+                UUID.fromString(fields[0]),
+                Long.parseLong(fields[1]),
+                SeatStatus.valueOf(fields[2]),
+                List.copyOf(Arrays.asList(fields).subList(HEADER_FIELDS, fields.length)),
+                UUID.fromString(fields[3]));
+    }
+}
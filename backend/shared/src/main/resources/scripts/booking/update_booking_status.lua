@@ -0,0 +1,25 @@
+-- Records the status of a booking and announces the change.
+-- KEYS[1] = status hash of the booking
+-- ARGV[1] = new status
+-- ARGV[2] = reason ('' if none)
+-- ARGV[3] = user ID
+-- ARGV[4] = event ID
+-- ARGV[5] = update time (epoch milliseconds)
+-- ARGV[6] = TTL of the hash in milliseconds
+-- ARGV[7] = booking status channel
+-- ARGV[8] = booking ID
+-- Returns 1 when the status was recorded, 0 when the booking already reached
+-- a final status and the update would move it back to PENDING.
+local current = redis.call('HGET', KEYS[1], 'status')
+if current and current ~= 'PENDING' and ARGV[1] == 'PENDING' then
+    return 0
+end
+redis.call('HSET', KEYS[1],
+    'status', ARGV[1],
+    'reason', ARGV[2],
+    'userId', ARGV[3],
+    'eventId', ARGV[4],
+    'updatedAt', ARGV[5])
+redis.call('PEXPIRE', KEYS[1], ARGV[6])
+redis.call('PUBLISH', ARGV[7], ARGV[8] .. ':' .. ARGV[1])
+return 1
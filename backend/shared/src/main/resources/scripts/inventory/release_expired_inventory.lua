@@ -0,0 +1,25 @@
+-- Gives back the units of every reservation past its deadline.
+-- Safe to run concurrently from several nodes: each reservation is removed and
+-- restored in the same atomic call.
+-- KEYS[1] = remaining inventory counter of the event
+-- KEYS[2] = open reservations of the event
+-- KEYS[3] = set of events with open reservations
+-- KEYS[4] = set of sold-out events
+-- ARGV[1] = current time in epoch ms
+-- ARGV[2] = event ID, dropped from KEYS[3] once it has no open reservation left
+-- ARGV[3] = event flag channel, notified when a sold-out event has seats again
+-- Returns the number of units given back (each reservation holds one seat).
+local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1])
+local units = #expired
+if units > 0 then
+    redis.call('ZREM', KEYS[2], unpack(expired))
+    redis.call('INCRBY', KEYS[1], units)
+    if redis.call('SREM', KEYS[4], ARGV[2]) == 1 then
+        redis.call('PUBLISH', ARGV[3], 'sold_out:' .. ARGV[2] .. ':0')
+    end
+end
+
+if redis.call('ZCARD', KEYS[2]) == 0 then
+    redis.call('SREM', KEYS[3], ARGV[2])
+end
+return units
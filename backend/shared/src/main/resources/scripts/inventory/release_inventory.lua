@@ -0,0 +1,18 @@
+-- Gives the reserved seats of an owner back to the event's inventory, once.
+-- KEYS[1] = remaining inventory counter of the event
+-- KEYS[2] = open reservations of the event
+-- KEYS[3] = set of sold-out events
+-- ARGV[1] = event ID
+-- ARGV[2] = event flag channel, notified when a sold-out event has seats again
+-- ARGV[3..] = reservation member of each seat (<userId>:<seatId>)
+-- Returns the number of seats given back; seats whose reservation was already
+-- confirmed, released or expired are skipped.
+local released = redis.call('ZREM', KEYS[2], unpack(ARGV, 3))
+if released == 0 then
+    return 0
+end
+redis.call('INCRBY', KEYS[1], released)
+if redis.call('SREM', KEYS[3], ARGV[1]) == 1 then
+    redis.call('PUBLISH', ARGV[2], 'sold_out:' .. ARGV[1] .. ':0')
+end
+return released
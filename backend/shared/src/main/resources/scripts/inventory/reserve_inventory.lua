@@ -0,0 +1,54 @@
+-- Reserves seats of an event's remaining inventory for their owner, or none.
+-- Reservations are kept per owner and seat, so re-reserving seats the owner
+-- already reserved (e.g. the same seats through another booking) only moves
+-- their deadline and takes no further units.
+-- KEYS[1] = remaining inventory counter of the event
+-- KEYS[2] = open reservations of the event (sorted set, score = deadline in epoch ms)
+-- KEYS[3] = set of events with open reservations
+-- KEYS[4] = set of sold-out events
+-- ARGV[1] = event capacity, used to initialise a missing counter
+-- ARGV[2] = reservation deadline in epoch ms
+-- ARGV[3] = event ID
+-- ARGV[4] = event flag channel, notified when the event sells out
+-- ARGV[5..] = reservation member of each seat (<userId>:<seatId>)
+-- Returns {reserved, remaining, new}: 1, the inventory left after the
+-- reservation and the 1-based positions of the seats newly reserved, or 0 and
+-- the unchanged inventory when not enough is left.
+local remaining = redis.call('GET', KEYS[1])
+if not remaining then
+    remaining = ARGV[1]
+    redis.call('SET', KEYS[1], remaining)
+end
+remaining = tonumber(remaining)
+
+local function flagSoldOut()
+    if redis.call('SADD', KEYS[4], ARGV[3]) == 1 then
+        redis.call('PUBLISH', ARGV[4], 'sold_out:' .. ARGV[3] .. ':1')
+    end
+end
+
+local new = {}
+for i = 5, #ARGV do
+    if not redis.call('ZSCORE', KEYS[2], ARGV[i]) then
+        new[#new + 1] = i - 4
+    end
+end
+
+if remaining < #new then
+    if remaining <= 0 then
+        flagSoldOut()
+    end
+    return {0, remaining, {}}
+end
+
+for i = 5, #ARGV do
+    redis.call('ZADD', KEYS[2], ARGV[2], ARGV[i])
+end
+redis.call('SADD', KEYS[3], ARGV[3])
+if #new > 0 then
+    remaining = redis.call('DECRBY', KEYS[1], #new)
+    if remaining == 0 then
+        flagSoldOut()
+    end
+end
+return {1, remaining, new}
@@ -0,0 +1,52 @@
+-- Turns the owner's locks on every seat in KEYS into permanent BOOKED markers,
+-- or changes nothing if any seat is no longer held under its fencing token.
+-- Seats the owner already booked under the same token count as held, so an
+-- attempt retried after one that died between converting and committing (and
+-- so never restored its locks) can still book them. Redeliveries of committed
+-- bookings are caught by the worker before they get here.
+-- KEYS[1..n]  = seat lock keys
+-- KEYS[n + 1] = availability index of the event (2-bit status per seat)
+-- KEYS[n + 2] = seat map version counter of the event
+-- KEYS[n + 3] = fencing token counters of the event (hash, field = seat lock key)
+-- ARGV[1]     = lock value (locked_by_<userId>)
+-- ARGV[2]     = booked value (booked_by_<userId>)
+-- ARGV[3 .. n + 2]     = fencing token of each seat
+-- ARGV[n + 3 .. 2n + 2] = index offset of each seat, -1 when the seat is not indexed
+-- Returns {version, stale}: the new seat map version (0 when nothing was
+-- booked) and the 1-based positions of the seats no longer held.
+local seatCount = #KEYS - 3
+local indexKey = KEYS[seatCount + 1]
+local versionKey = KEYS[seatCount + 2]
+local fenceKey = KEYS[seatCount + 3]
+
+local stale = {}
+for i = 1, seatCount do
+    local current = redis.call('GET', KEYS[i])
+    if (current ~= ARGV[1] and current ~= ARGV[2])
+            or tonumber(redis.call('HGET', fenceKey, KEYS[i])) ~= tonumber(ARGV[i + 2]) then
+        stale[#stale + 1] = i
+    end
+end
+
+if #stale > 0 then
+    return {0, stale}
+end
+
+-- Index status values follow SeatStatus ordinals: 0 AVAILABLE, 1 LOCKED, 2 BOOKED
+local bitfield = {}
+for i = 1, seatCount do
+    -- SET without PX drops the TTL: a booked seat never returns to the pool
+    redis.call('SET', KEYS[i], ARGV[2])
+    local offset = tonumber(ARGV[seatCount + i + 2])
+    if offset >= 0 then
+        bitfield[#bitfield + 1] = 'SET'
+        bitfield[#bitfield + 1] = 'u2'
+        bitfield[#bitfield + 1] = '#' .. offset
+        bitfield[#bitfield + 1] = 2
+    end
+end
+
+if #bitfield > 0 then
+    redis.call('BITFIELD', indexKey, unpack(bitfield))
+end
+return {redis.call('INCR', versionKey), stale}
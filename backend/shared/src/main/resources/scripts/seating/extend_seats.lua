@@ -0,0 +1,19 @@
+-- Extends the TTL of the seats in KEYS that are still held by the owner in ARGV[1].
+-- KEYS[1..n]  = seat lock keys
+-- KEYS[n + 1] = availability index of the event (unused, keeps the key layout uniform)
+-- KEYS[n + 2] = seat map version counter of the event (unused)
+-- KEYS[n + 3] = fencing token counters of the event (unused)
+-- ARGV[1]     = lock value (locked_by_<userId>)
+-- ARGV[2]     = new lock TTL in milliseconds
+-- Returns {0, extended}: the seat map does not change, and the 1-based
+-- positions of the keys whose TTL was extended.
+local seatCount = #KEYS - 3
+
+local extended = {}
+for i = 1, seatCount do
+    if redis.call('GET', KEYS[i]) == ARGV[1] then
+        redis.call('PEXPIRE', KEYS[i], ARGV[2])
+        extended[#extended + 1] = i
+    end
+end
+return {0, extended}
@@ -0,0 +1,51 @@
+-- Locks every seat in KEYS for the owner in ARGV[1], or none of them.
+-- KEYS[1..n]  = seat lock keys
+-- KEYS[n + 1] = availability index of the event (2-bit status per seat)
+-- KEYS[n + 2] = seat map version counter of the event
+-- KEYS[n + 3] = fencing token counters of the event (hash, field = seat lock key)
+-- ARGV[1]     = lock value (locked_by_<userId>)
+-- ARGV[2]     = lock TTL in milliseconds
+-- ARGV[3..]   = index offset of each seat, -1 when the seat is not indexed
+-- Returns {version, conflicts, tokens}: the new seat map version (0 when nothing
+-- was locked), the 1-based positions of the keys held by someone else, and the
+-- fencing token of each seat (empty on conflict). A seat gets a new, higher token
+-- on every acquisition; re-locking a seat the owner still holds keeps its token.
+local seatCount = #KEYS - 3
+local indexKey = KEYS[seatCount + 1]
+local versionKey = KEYS[seatCount + 2]
+local fenceKey = KEYS[seatCount + 3]
+
+local conflicts = {}
+local held = {}
+for i = 1, seatCount do
+    local current = redis.call('GET', KEYS[i])
+    if current and current ~= ARGV[1] then
+        conflicts[#conflicts + 1] = i
+    end
+    held[i] = current == ARGV[1]
+end
+
+if #conflicts > 0 then
+    return {0, conflicts, {}}
+end
+
+-- Index status values follow SeatStatus ordinals: 0 AVAILABLE, 1 LOCKED, 2 BOOKED
+local bitfield = {}
+local tokens = {}
+for i = 1, seatCount do
+    redis.call('SET', KEYS[i], ARGV[1], 'PX', ARGV[2])
+    local token = held[i] and redis.call('HGET', fenceKey, KEYS[i])
+    tokens[i] = token and tonumber(token) or redis.call('HINCRBY', fenceKey, KEYS[i], 1)
+    local offset = tonumber(ARGV[i + 2])
+    if offset >= 0 then
+        bitfield[#bitfield + 1] = 'SET'
+        bitfield[#bitfield + 1] = 'u2'
+        bitfield[#bitfield + 1] = '#' .. offset
+        bitfield[#bitfield + 1] = 1
+    end
+end
+
+if #bitfield > 0 then
+    redis.call('BITFIELD', indexKey, unpack(bitfield))
+end
+return {redis.call('INCR', versionKey), conflicts, tokens}
@@ -0,0 +1,36 @@
+-- Marks seats whose lock expired as AVAILABLE in the availability index.
+-- Runs on every API node receiving the expiry notification, so it is idempotent:
+-- the version only moves when this call actually changed the index.
+-- KEYS[1..n]  = seat lock keys
+-- KEYS[n + 1] = availability index of the event (2-bit status per seat)
+-- KEYS[n + 2] = seat map version counter of the event
+-- KEYS[n + 3] = fencing token counters of the event (unused)
+-- ARGV[1..n]  = index offset of each seat, -1 when the seat is not indexed
+-- Returns {version, expired}: the current seat map version and the 1-based
+-- positions of the seats that are still unlocked (not re-taken meanwhile).
+local seatCount = #KEYS - 3
+local indexKey = KEYS[seatCount + 1]
+local versionKey = KEYS[seatCount + 2]
+
+local expired = {}
+local bitfield = {}
+for i = 1, seatCount do
+    if redis.call('EXISTS', KEYS[i]) == 0 then
+        expired[#expired + 1] = i
+
+        -- Only clear seats still marked LOCKED (1); BOOKED (2) stays
+        local offset = tonumber(ARGV[i])
+        if offset >= 0 and redis.call('BITFIELD', indexKey, 'GET', 'u2', '#' .. offset)[1] == 1 then
+            bitfield[#bitfield + 1] = 'SET'
+            bitfield[#bitfield + 1] = 'u2'
+            bitfield[#bitfield + 1] = '#' .. offset
+            bitfield[#bitfield + 1] = 0
+        end
+    end
+end
+
+if #bitfield > 0 then
+    redis.call('BITFIELD', indexKey, unpack(bitfield))
+    return {redis.call('INCR', versionKey), expired}
+end
+return {tonumber(redis.call('GET', versionKey) or '0'), expired}
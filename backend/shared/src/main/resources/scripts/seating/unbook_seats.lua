@@ -0,0 +1,42 @@
+-- Turns the owner's BOOKED markers on the seats in KEYS back into locks, when
+-- the booking that converted them was rolled back. The fencing tokens are kept,
+-- so the booking can still be retried with the tokens it carries.
+-- KEYS[1..n]  = seat lock keys
+-- KEYS[n + 1] = availability index of the event (2-bit status per seat)
+-- KEYS[n + 2] = seat map version counter of the event
+-- KEYS[n + 3] = fencing token counters of the event (unused)
+-- ARGV[1]     = booked value (booked_by_<userId>)
+-- ARGV[2]     = lock value (locked_by_<userId>)
+-- ARGV[3]     = TTL of the restored locks in milliseconds
+-- ARGV[4..]   = index offset of each seat, -1 when the seat is not indexed
+-- Returns {version, restored}: the new seat map version (0 when nothing was
+-- restored) and the 1-based positions of the seats locked again.
+local seatCount = #KEYS - 3
+local indexKey = KEYS[seatCount + 1]
+local versionKey = KEYS[seatCount + 2]
+
+local restored = {}
+local bitfield = {}
+for i = 1, seatCount do
+    if redis.call('GET', KEYS[i]) == ARGV[1] then
+        redis.call('SET', KEYS[i], ARGV[2], 'PX', ARGV[3])
+        restored[#restored + 1] = i
+
+        local offset = tonumber(ARGV[i + 3])
+        if offset >= 0 then
+            bitfield[#bitfield + 1] = 'SET'
+            bitfield[#bitfield + 1] = 'u2'
+            bitfield[#bitfield + 1] = '#' .. offset
+            bitfield[#bitfield + 1] = 1
+        end
+    end
+end
+
+if #restored == 0 then
+    return {0, restored}
+end
+
+if #bitfield > 0 then
+    redis.call('BITFIELD', indexKey, unpack(bitfield))
+end
+return {redis.call('INCR', versionKey), restored}
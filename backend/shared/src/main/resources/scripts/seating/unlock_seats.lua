@@ -0,0 +1,38 @@
+-- Releases the seats in KEYS that are still held by the owner in ARGV[1].
+-- KEYS[1..n]  = seat lock keys
+-- KEYS[n + 1] = availability index of the event (2-bit status per seat)
+-- KEYS[n + 2] = seat map version counter of the event
+-- KEYS[n + 3] = fencing token counters of the event (unused)
+-- ARGV[1]     = lock value (locked_by_<userId>)
+-- ARGV[2..]   = index offset of each seat, -1 when the seat is not indexed
+-- Returns {version, released}: the new seat map version (0 when nothing was
+-- released) and the 1-based positions of the keys that were actually deleted.
+local seatCount = #KEYS - 3
+local indexKey = KEYS[seatCount + 1]
+local versionKey = KEYS[seatCount + 2]
+
+local released = {}
+local bitfield = {}
+for i = 1, seatCount do
+    if redis.call('GET', KEYS[i]) == ARGV[1] then
+        redis.call('DEL', KEYS[i])
+        released[#released + 1] = i
+
+        local offset = tonumber(ARGV[i + 1])
+        if offset >= 0 then
+            bitfield[#bitfield + 1] = 'SET'
+            bitfield[#bitfield + 1] = 'u2'
+            bitfield[#bitfield + 1] = '#' .. offset
+            bitfield[#bitfield + 1] = 0
+        end
+    end
+end
+
+if #released == 0 then
+    return {0, released}
+end
+
+if #bitfield > 0 then
+    redis.call('BITFIELD', indexKey, unpack(bitfield))
+end
+return {redis.call('INCR', versionKey), released}
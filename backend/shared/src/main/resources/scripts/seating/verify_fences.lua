@@ -0,0 +1,25 @@
+-- Checks that the owner in ARGV[1] still holds every seat in KEYS under the
+-- fencing token it was given when locking. A lock that expired, or expired and
+-- was re-taken (which issues a higher token), fails the check. Seats the owner
+-- already booked under the same token count as held.
+-- KEYS[1..n]  = seat lock keys
+-- KEYS[n + 1] = availability index of the event (unused)
+-- KEYS[n + 2] = seat map version counter of the event (unused)
+-- KEYS[n + 3] = fencing token counters of the event (hash, field = seat lock key)
+-- ARGV[1]     = lock value (locked_by_<userId>)
+-- ARGV[2 .. n + 1] = fencing token of each seat
+-- ARGV[n + 2] = booked value (booked_by_<userId>)
+-- Returns {0, stale}: the seat map does not change, and the 1-based positions
+-- of the seats that are no longer held under their token.
+local seatCount = #KEYS - 3
+local fenceKey = KEYS[seatCount + 3]
+
+local stale = {}
+for i = 1, seatCount do
+    local current = redis.call('GET', KEYS[i])
+    if (current ~= ARGV[1] and current ~= ARGV[seatCount + 2])
+            or tonumber(redis.call('HGET', fenceKey, KEYS[i])) ~= tonumber(ARGV[i + 1]) then
+        stale[#stale + 1] = i
+    end
+end
+return {0, stale}
@@ -0,0 +1,160 @@
+package com.backend.shared.seating;
+
+import com.backend.shared.enums.SeatStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemorySeatLockStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(2);
+    private static final SeatLayout LAYOUT = new SeatLayout(3, 4);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final UUID eventId = UUID.randomUUID();
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+
+    private InMemorySeatLockStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemorySeatLockStore(4, clock::get);
+    }
+
+    @Test
+    void locksAllSeatsAndIndexesThem() {
+        SeatLockResult result = store.lock(eventId, List.of("A1", "A2"), alice, TTL, LAYOUT);
+
+        assertThat(result.seatIds()).isEmpty();
+        assertThat(result.version()).isEqualTo(1L);
+        assertThat(result.fencingTokens()).containsOnlyKeys("A1", "A2");
+        assertThat(statusOf("A1")).isEqualTo(SeatStatus.LOCKED);
+        assertThat(statusOf("A3")).isEqualTo(SeatStatus.AVAILABLE);
+        assertThat(store.areAllLocked(eventId, List.of("A1", "A2"))).isTrue();
+    }
+
+    @Test
+    void partialConflictLocksNothing() {
+        store.lock(eventId, List.of("A2"), bob, TTL, LAYOUT);
+
+        SeatLockResult result = store.lock(eventId, List.of("A1", "A2", "A3"), alice, TTL, LAYOUT);
+
+        assertThat(result.seatIds()).containsExactly("A2");
+        assertThat(result.fencingTokens()).isEmpty();
+        assertThat(result.version()).isZero();
+        assertThat(statusOf("A1")).isEqualTo(SeatStatus.AVAILABLE);
+        assertThat(statusOf("A3")).isEqualTo(SeatStatus.AVAILABLE);
+    }
+
+    @Test
+    void relockBySameUserKeepsFencingToken() {
+        long fence = store.lock(eventId, List.of("A1"), alice, TTL, LAYOUT).fencingTokens().get("A1");
+        clock.addAndGet(TTL.toNanos() / 2);
+
+        SeatLockResult result = store.lock(eventId, List.of("A1", "A2"), alice, TTL, LAYOUT);
+
+        assertThat(result.seatIds()).isEmpty();
+        assertThat(result.fencingTokens()).containsEntry("A1", fence);
+    }
+
+    @Test
+    void unlockLeavesForeignLocksUntouched() {
+        store.lock(eventId, List.of("A1"), alice, TTL, LAYOUT);
+        store.lock(eventId, List.of("A2"), bob, TTL, LAYOUT);
+
+        SeatLockResult result = store.unlock(eventId, List.of("A1", "A2"), alice, LAYOUT);
+
+        assertThat(result.seatIds()).containsExactly("A1");
+        assertThat(statusOf("A1")).isEqualTo(SeatStatus.AVAILABLE);
+        assertThat(statusOf("A2")).isEqualTo(SeatStatus.LOCKED);
+    }
+
+    @Test
+    void expiredLockCanBeTakenWithANewFence() {
+        Map<String, Long> aliceTokens = store.lock(eventId, List.of("A1"), alice, TTL, LAYOUT).fencingTokens();
+        clock.addAndGet(TTL.toNanos());
+
+        SeatLockResult bobLock = store.lock(eventId, List.of("A1"), bob, TTL, LAYOUT);
+
+        assertThat(bobLock.seatIds()).isEmpty();
+        assertThat(bobLock.fencingTokens().get("A1")).isGreaterThan(aliceTokens.get("A1"));
+        assertThat(store.verifyFences(eventId, aliceTokens, alice).seatIds()).containsExactly("A1");
+    }
+
+    @Test
+    void bookRejectsStaleFenceAndBooksNothing() {
+        Map<String, Long> tokens = store.lock(eventId, List.of("A1", "A2"), alice, TTL, LAYOUT).fencingTokens();
+        Map<String, Long> stale = Map.of("A1", tokens.get("A1"), "A2", tokens.get("A2") + 1);
+
+        SeatLockResult result = store.book(eventId, stale, alice, LAYOUT);
+
+        assertThat(result.seatIds()).containsExactly("A2");
+        assertThat(statusOf("A1")).isEqualTo(SeatStatus.LOCKED);
+    }
+
+    @Test
+    void bookedSeatsNeverExpireAndCannotBeLocked() {
+        Map<String, Long> tokens = store.lock(eventId, List.of("A1"), alice, TTL, LAYOUT).fencingTokens();
+
+        assertThat(store.book(eventId, tokens, alice, LAYOUT).seatIds()).isEmpty();
+        clock.addAndGet(TTL.toNanos() * 10);
+
+        assertThat(statusOf("A1")).isEqualTo(SeatStatus.BOOKED);
+        assertThat(store.evictExpired()).isEmpty();
+        assertThat(store.lock(eventId, List.of("A1"), bob, TTL, LAYOUT).seatIds()).containsExactly("A1");
+        // Booking again under the same tokens is a no-op success
+        assertThat(store.book(eventId, tokens, alice, LAYOUT).seatIds()).isEmpty();
+    }
+
+    @Test
+    void unbookRestoresLocksWithTheirFence() {
+        Map<String, Long> tokens = store.lock(eventId, List.of("A1"), alice, TTL, LAYOUT).fencingTokens();
+        store.book(eventId, tokens, alice, LAYOUT);
+
+        SeatLockResult result = store.unbook(eventId, List.of("A1"), alice, TTL, LAYOUT);
+
+        assertThat(result.seatIds()).containsExactly("A1");
+        assertThat(statusOf("A1")).isEqualTo(SeatStatus.LOCKED);
+        assertThat(store.verifyFences(eventId, tokens, alice).seatIds()).isEmpty();
+        assertThat(store.unbook(eventId, List.of("A1"), bob, TTL, LAYOUT).seatIds()).isEmpty();
+    }
+
+    @Test
+    void evictedLocksAreReleasedFromTheIndex() {
+        store.lock(eventId, List.of("A1", "B2"), alice, TTL, LAYOUT);
+        clock.addAndGet(TTL.toNanos());
+
+        Map<UUID, List<String>> expired = store.evictExpired();
+        assertThat(expired).containsOnlyKeys(eventId);
+        assertThat(expired.get(eventId)).containsExactlyInAnyOrder("A1", "B2");
+
+        long version = store.readSeatMap(eventId).version();
+        SeatLockResult released = store.releaseExpired(eventId, expired.get(eventId), LAYOUT);
+        assertThat(released.version()).isEqualTo(version + 1);
+        assertThat(statusOf("A1")).isEqualTo(SeatStatus.AVAILABLE);
+        assertThat(statusOf("B2")).isEqualTo(SeatStatus.AVAILABLE);
+
+        // Idempotent: nothing left to change
+        assertThat(store.releaseExpired(eventId, expired.get(eventId), LAYOUT).version()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void locksWithoutLayoutAreNotIndexed() {
+        assertThat(store.lock(eventId, List.of("VIP-BOX"), alice, TTL, null).seatIds()).isEmpty();
+
+        assertThat(store.readSeatMap(eventId).index()).isEmpty();
+        assertThat(store.areAllLocked(eventId, List.of("VIP-BOX"))).isTrue();
+    }
+
+    private SeatStatus statusOf(String seatId) {
+        return store.readSeatMap(eventId).statusAt(LAYOUT.indexOf(seatId));
+    }
+}
@@ -0,0 +1,192 @@
+package com.backend.shared.seating;
+
+import com.backend.shared.enums.SeatStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the seat lock scripts against a real Redis; skipped without Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisSeatLockStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(2);
+    private static final SeatLayout LAYOUT = new SeatLayout(3, 4);
+
+    @Container
+    private static final GenericContainer<?> REDIS =
+            new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<String, Object> redisTemplate;
+
+    private final UUID eventId = UUID.randomUUID();
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+
+    private RedisSeatLockStore store;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+        store = new RedisSeatLockStore(redisTemplate);
+    }
+
+    @Test
+    void locksAllSeatsAndIndexesThem() {
+        SeatLockResult result = store.lock(eventId, List.of("A1", "B2"), alice, TTL, LAYOUT);
+
+        assertThat(result.seatIds()).isEmpty();
+        assertThat(result.fencingTokens()).containsOnlyKeys("A1", "B2");
+        assertThat(result.version()).isEqualTo(store.readSeatMap(eventId).version());
+        assertThat(statusOf("A1")).isEqualTo(SeatStatus.LOCKED);
+        assertThat(statusOf("B2")).isEqualTo(SeatStatus.LOCKED);
+        assertThat(redisTemplate.getExpire(lockKey("A1"))).isPositive();
+    }
+
+    @Test
+    void partialConflictLocksNothing() {
+        store.lock(eventId, List.of("A2"), bob, TTL, LAYOUT);
+        long version = store.readSeatMap(eventId).version();
+
+        SeatLockResult result = store.lock(eventId, List.of("A1", "A2", "A3"), alice, TTL, LAYOUT);
+
+        assertThat(result.seatIds()).containsExactly("A2");
+        assertThat(result.fencingTokens()).isEmpty();
+        assertThat(redisTemplate.hasKey(lockKey("A1"))).isFalse();
+        assertThat(redisTemplate.hasKey(lockKey("A3"))).isFalse();
+        assertThat(statusOf("A1")).isEqualTo(SeatStatus.AVAILABLE);
+        assertThat(store.readSeatMap(eventId).version()).isEqualTo(version);
+    }
+
+    @Test
+    void relockBySameUserKeepsFencingToken() {
+        long fence = store.lock(eventId, List.of("A1"), alice, TTL, LAYOUT).fencingTokens().get("A1");
+
+        SeatLockResult result = store.lock(eventId, List.of("A1", "A2"), alice, TTL, LAYOUT);
+
+        assertThat(result.seatIds()).isEmpty();
+        assertThat(result.fencingTokens()).containsEntry("A1", fence);
+    }
+
+    @Test
+    void foreignOwnerCannotUnlockOrBook() {
+        Map<String, Long> tokens = store.lock(eventId, List.of("A1"), alice, TTL, LAYOUT).fencingTokens();
+
+        assertThat(store.unlock(eventId, List.of("A1"), bob, LAYOUT).seatIds()).isEmpty();
+        assertThat(store.book(eventId, tokens, bob, LAYOUT).seatIds()).containsExactly("A1");
+        assertThat(store.verifyFences(eventId, tokens, bob).seatIds()).containsExactly("A1");
+        assertThat(statusOf("A1")).isEqualTo(SeatStatus.LOCKED);
+
+        assertThat(store.unlock(eventId, List.of("A1"), alice, LAYOUT).seatIds()).containsExactly("A1");
+        assertThat(statusOf("A1")).isEqualTo(SeatStatus.AVAILABLE);
+    }
+
+    @Test
+    void staleFenceIsRejectedAfterTheSeatWasRetaken() {
+        Map<String, Long> aliceTokens = store.lock(eventId, List.of("A1", "A2"), alice, TTL, LAYOUT).fencingTokens();
+        // Alice's lock on A1 is lost and Bob takes it; she takes it back later under a new token
+        store.unlock(eventId, List.of("A1"), alice, LAYOUT);
+        store.lock(eventId, List.of("A1"), bob, TTL, LAYOUT);
+        store.unlock(eventId, List.of("A1"), bob, LAYOUT);
+        long newFence = store.lock(eventId, List.of("A1"), alice, TTL, LAYOUT).fencingTokens().get("A1");
+
+        assertThat(newFence).isGreaterThan(aliceTokens.get("A1"));
+        assertThat(store.verifyFences(eventId, aliceTokens, alice).seatIds()).containsExactly("A1");
+        SeatLockResult book = store.book(eventId, aliceTokens, alice, LAYOUT);
+        assertThat(book.seatIds()).containsExactly("A1");
+        assertThat(book.version()).isZero();
+        assertThat(statusOf("A2")).isEqualTo(SeatStatus.LOCKED);
+    }
+
+    @Test
+    void bookedSeatsLoseTheirTtlAndCannotBeLocked() {
+        Map<String, Long> tokens = store.lock(eventId, List.of("A1", "A2"), alice, TTL, LAYOUT).fencingTokens();
+
+        SeatLockResult book = store.book(eventId, tokens, alice, LAYOUT);
+
+        assertThat(book.seatIds()).isEmpty();
+        assertThat(book.version()).isEqualTo(store.readSeatMap(eventId).version());
+        assertThat(redisTemplate.getExpire(lockKey("A1"))).isEqualTo(-1L);
+        assertThat(statusOf("A1")).isEqualTo(SeatStatus.BOOKED);
+        assertThat(store.lock(eventId, List.of("A1"), bob, TTL, LAYOUT).seatIds()).containsExactly("A1");
+        assertThat(store.unlock(eventId, List.of("A1"), alice, LAYOUT).seatIds()).isEmpty();
+    }
+
+    @Test
+    void bookAllConvertsEachBookingOnItsOwn() {
+        Map<String, Long> aliceTokens = store.lock(eventId, List.of("A1"), alice, TTL, LAYOUT).fencingTokens();
+        Map<String, Long> bobTokens = store.lock(eventId, List.of("B1"), bob, TTL, LAYOUT).fencingTokens();
+        Map<String, Long> staleBob = Map.of("B1", bobTokens.get("B1") + 1);
+
+        List<SeatLockResult> results = store.bookAll(List.of(
+                new SeatLockStore.SeatBooking(eventId, aliceTokens, alice, LAYOUT),
+                new SeatLockStore.SeatBooking(eventId, staleBob, bob, LAYOUT)));
+
+        assertThat(results.get(0).seatIds()).isEmpty();
+        assertThat(results.get(1).seatIds()).containsExactly("B1");
+        assertThat(statusOf("A1")).isEqualTo(SeatStatus.BOOKED);
+        assertThat(statusOf("B1")).isEqualTo(SeatStatus.LOCKED);
+    }
+
+    @Test
+    void unbookRestoresLocksWithTheirFence() {
+        Map<String, Long> tokens = store.lock(eventId, List.of("A1"), alice, TTL, LAYOUT).fencingTokens();
+        store.book(eventId, tokens, alice, LAYOUT);
+
+        SeatLockResult restored = store.unbook(eventId, List.of("A1"), alice, TTL, LAYOUT);
+
+        assertThat(restored.seatIds()).containsExactly("A1");
+        assertThat(restored.version()).isEqualTo(store.readSeatMap(eventId).version());
+        assertThat(statusOf("A1")).isEqualTo(SeatStatus.LOCKED);
+        assertThat(redisTemplate.getExpire(lockKey("A1"))).isPositive();
+        assertThat(store.verifyFences(eventId, tokens, alice).seatIds()).isEmpty();
+    }
+
+    private SeatStatus statusOf(String seatId) {
+        return store.readSeatMap(eventId).statusAt(LAYOUT.indexOf(seatId));
+    }
+
+    private String lockKey(String seatId) {
+        return RedisSeatLockStore.LOCK_KEY_PREFIX + eventId + ":" + seatId;
+    }
+}
@@ -0,0 +1,67 @@
+package com.backend.shared.seating;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeatLayoutTest {
+
+    private final SeatLayout layout = new SeatLayout(30, 12);
+
+    @Test
+    void indexesLetterRowsRowMajor() {
+        assertThat(layout.indexOf("A1")).isZero();
+        assertThat(layout.indexOf("A12")).isEqualTo(11);
+        assertThat(layout.indexOf("B1")).isEqualTo(12);
+        assertThat(layout.indexOf("Z1")).isEqualTo(25 * 12);
+        assertThat(layout.indexOf("AA1")).isEqualTo(26 * 12);
+        assertThat(layout.indexOf("AD12")).isEqualTo(layout.size() - 1);
+    }
+
+    @Test
+    void indexesEverySpellingOfASeatAlike() {
+        int index = layout.indexOf("C12");
+
+        assertThat(layout.indexOf("c12")).isEqualTo(index);
+        assertThat(layout.indexOf(" C12 ")).isEqualTo(index);
+        assertThat(layout.indexOf("C012")).isEqualTo(index);
+        assertThat(layout.indexOf("3-12")).isEqualTo(index);
+    }
+
+    @Test
+    void rejectsSeatsOffTheGrid() {
+        assertThat(layout.indexOf(null)).isEqualTo(SeatLayout.NO_INDEX);
+        assertThat(layout.indexOf("A0")).isEqualTo(SeatLayout.NO_INDEX);
+        assertThat(layout.indexOf("A13")).isEqualTo(SeatLayout.NO_INDEX);
+        assertThat(layout.indexOf("AE1")).isEqualTo(SeatLayout.NO_INDEX);
+        assertThat(layout.indexOf("0-1")).isEqualTo(SeatLayout.NO_INDEX);
+        assertThat(layout.indexOf("VIP-BOX")).isEqualTo(SeatLayout.NO_INDEX);
+        assertThat(layout.indexOf("A99999999999")).isEqualTo(SeatLayout.NO_INDEX);
+        assertThat(layout.indexOf("ZZZZZZZZ1")).isEqualTo(SeatLayout.NO_INDEX);
+    }
+
+    @Test
+    void canonicalIdsRoundTripThroughTheIndex() {
+        for (int index = 0; index < layout.size(); index++) {
+            String label = layout.labelOf(index);
+            assertThat(SeatLayout.canonicalId(label)).isEqualTo(label);
+            assertThat(layout.indexOf(label)).isEqualTo(index);
+        }
+    }
+
+    @Test
+    void canonicalizesSpellingsButKeepsOtherIdentifiers() {
+        assertThat(SeatLayout.canonicalId(" c012 ")).isEqualTo("C12");
+        assertThat(SeatLayout.canonicalId("27-3")).isEqualTo("AA3");
+        assertThat(SeatLayout.canonicalId("vip-box")).isEqualTo("VIP-BOX");
+        assertThat(SeatLayout.canonicalId("A0")).isEqualTo("A0");
+        assertThat(SeatLayout.canonicalId(null)).isNull();
+    }
+
+    @Test
+    void rejectsEmptyLayouts() {
+        assertThatThrownBy(() -> new SeatLayout(0, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> layout.labelOf(layout.size())).isInstanceOf(IllegalArgumentException.class);
+    }
+}
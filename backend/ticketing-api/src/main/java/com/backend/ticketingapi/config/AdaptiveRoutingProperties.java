@@ -0,0 +1,46 @@
+package com.backend.ticketingapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Thresholds for switching events between direct and queued registration
+ * (registration.adaptive.*).
+ *
+ * An event is switched to queued mode as soon as its lock attempt rate reaches
+ * the enter threshold, and back to direct mode only after it stayed below the
+ * (lower) exit threshold for calm-windows consecutive windows.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "registration.adaptive")
+public class AdaptiveRoutingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Measurement window
+     */
+    private long windowMs = 1000;
+
+    /**
+     * Lock attempts per second (cluster-wide) that switch an event to queued mode
+     */
+    private double enterRate = 50;
+
+    /**
+     * Lock attempts per second below which an event may return to direct mode
+     */
+    private double exitRate = 20;
+
+    /**
+     * Consecutive calm windows required before returning to direct mode
+     */
+    private int calmWindows = 30;
+
+    /**
+     * Weight of the latest window in the moving average (0..1]
+     */
+    private double smoothing = 0.3;
+}
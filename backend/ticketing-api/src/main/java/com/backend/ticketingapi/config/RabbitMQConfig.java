@@ -1,5 +1,6 @@
 package com.backend.ticketingapi.config;
 
+import com.backend.shared.messaging.RegistrationPartitions;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -9,6 +10,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.UUID;
+
 @Configuration
 public class RabbitMQConfig {
 
@@ -21,6 +24,13 @@ public class RabbitMQConfig {
     @Value("${messaging.rabbitmq.registration-routing-key}")
     private String registrationRoutingKey;
 
+    @Value("${messaging.rabbitmq.registration-partitions:8}")
+    private int registrationPartitions;
+
+    /**
+     * Pre-partitioning queue, still declared so workers drain commands
+     * published before the upgrade. New commands go to the partition queues.
+     */
     @Bean
     public Queue registrationQueue() {
         return new Queue(registrationQueue, true);
@@ -36,12 +46,22 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(queue).to(exchange).with(registrationRoutingKey);
     }
 
+    @Bean
+    public Declarables registrationPartitionQueues(DirectExchange exchange) {
+        return RegistrationPartitions.declarables(exchange, registrationQueue, registrationRoutingKey,
+                registrationPartitions);
+    }
+
     public String getRegistrationExchange() {
         return registrationExchange;
     }
 
-    public String getRegistrationRoutingKey() {
-        return registrationRoutingKey;
+    /**
+     * Routing key of the partition queue that carries the commands of an event.
+     */
+    public String routingKeyFor(UUID eventId) {
+        return RegistrationPartitions.routingKey(registrationRoutingKey,
+                RegistrationPartitions.partitionOf(eventId, registrationPartitions));
     }
 
     @Bean
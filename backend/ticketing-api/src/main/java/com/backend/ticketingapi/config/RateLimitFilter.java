@@ -0,0 +1,61 @@
+package com.backend.ticketingapi.config;
+
+import com.backend.shared.exceptions.RateLimitExceededException;
+import com.backend.ticketingapi.service.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies the per-user and per-IP rate limits to registration requests, right
+ * after bearer token authentication and before any controller logic.
+ * Rejected requests get 429 with Retry-After (whole seconds).
+ *
+ * The client IP is the remote address; behind a reverse proxy, set
+ * server.forward-headers-strategy so it reflects the real client.
+ */
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String REGISTRATION_PATH = "/api/register";
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(REGISTRATION_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            rateLimiter.checkClient(subjectOf(SecurityContextHolder.getContext().getAuthentication()),
+                    request.getRemoteAddr());
+        } catch (RateLimitExceededException e) {
+            long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"errorCode\":\"" + e.getErrorCode() + "\",\"message\":\""
+                    + e.getUserMessage() + "\"}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static String subjectOf(Authentication authentication) {
+        return authentication != null && authentication.getPrincipal() instanceof Jwt jwt ? jwt.getSubject() : null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.backend.ticketingapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Registration rate limits (registration.rate-limit.*).
+ *
+ * Every limit is a token bucket shared by all API nodes. Nodes take tokens
+ * from Redis in leases of lease-size and spend them locally, so most requests
+ * are decided without a Redis call.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "registration.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Per JWT subject, across all events
+     */
+    private Bucket user = new Bucket(10, 2, 2);
+
+    /**
+     * Per client IP, across all events
+     */
+    private Bucket ip = new Bucket(50, 10, 10);
+
+    /**
+     * Per user and event
+     */
+    private Bucket event = new Bucket(5, 0.5, 1);
+
+    /**
+     * Per-event overrides of the user and event bucket
+     */
+    private Map<UUID, Bucket> eventOverrides = new HashMap<>();
+
+    /**
+     * How long a node may keep unused leased tokens
+     */
+    private long leaseTtlMs = 1000;
+
+    public Bucket eventBucketFor(UUID eventId) {
+        return eventOverrides.getOrDefault(eventId, event);
+    }
+
+    @Getter
+    @Setter
+    public static class Bucket {
+
+        /**
+         * Burst size
+         */
+        private int capacity;
+
+        /**
+         * Tokens added per second
+         */
+        private double refillPerSecond;
+
+        /**
+         * Tokens a node takes from Redis at once
+         */
+        private int leaseSize;
+
+        public Bucket() {
+        }
+
+        public Bucket(int capacity, double refillPerSecond, int leaseSize) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+            this.leaseSize = leaseSize;
+        }
+    }
+}
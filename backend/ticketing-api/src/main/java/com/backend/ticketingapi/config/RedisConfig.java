@@ -1,11 +1,26 @@
 package com.backend.ticketingapi.config;
 
+import com.backend.shared.booking.RedisBookingStatusStore;
+import com.backend.shared.inventory.EventFlags;
+import com.backend.shared.inventory.RedisInventoryCounter;
+import com.backend.shared.seating.SeatStatusChannel;
+import com.backend.ticketingapi.messaging.SeatLockExpiryListener;
+import com.backend.ticketingapi.messaging.SeatStatusRelay;
+import com.backend.ticketingapi.service.BookingStatusService;
+import com.backend.ticketingapi.service.EventAvailabilityFlags;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+
 @Configuration
 public class RedisConfig {
 
@@ -26,4 +41,37 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    @Bean
+    public RedisInventoryCounter redisInventoryCounter(RedisTemplate<String, Object> redisTemplate) {
+        return new RedisInventoryCounter(redisTemplate);
+    }
+
+    @Bean
+    public RedisBookingStatusStore redisBookingStatusStore(RedisTemplate<String, Object> redisTemplate,
+            @Value("${registration.status.ttl-ms:86400000}") long ttlMs) {
+        return new RedisBookingStatusStore(redisTemplate, Duration.ofMillis(ttlMs));
+    }
+
+    /**
+     * Receives event flag, booking status and worker seat status changes and, with the Redis seat
+     * lock store, key expiry notifications (requires notify-keyspace-events Ex).
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            EventAvailabilityFlags eventAvailabilityFlags,
+            BookingStatusService bookingStatusService,
+            SeatStatusRelay seatStatusRelay,
+            ObjectProvider<SeatLockExpiryListener> seatLockExpiryListener) {
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(eventAvailabilityFlags, new ChannelTopic(EventFlags.CHANNEL));
+        container.addMessageListener(bookingStatusService, new ChannelTopic(RedisBookingStatusStore.CHANNEL));
+        container.addMessageListener(seatStatusRelay, new ChannelTopic(SeatStatusChannel.CHANNEL));
+        seatLockExpiryListener.ifAvailable(listener ->
+                container.addMessageListener(listener, new PatternTopic("__keyevent@*__:expired")));
+        return container;
+    }
 }
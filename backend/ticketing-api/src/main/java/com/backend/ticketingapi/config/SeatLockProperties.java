@@ -0,0 +1,41 @@
+package com.backend.ticketingapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Seat lock lease settings (seating.lock.*).
+ *
+ * Locks are taken with a short TTL and kept alive by the client through the
+ * extend heartbeat, up to a maximum hold time counted from the first lock.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "seating.lock")
+public class SeatLockProperties {
+
+    /**
+     * TTL of a lock, and of each extension
+     */
+    private Duration ttl = Duration.ofMinutes(2);
+
+    /**
+     * Maximum time a booking may hold its seats, extensions included
+     */
+    private Duration maxHold = Duration.ofMinutes(10);
+
+    /**
+     * Per-event overrides of the maximum hold time
+     */
+    private Map<UUID, Duration> maxHoldByEvent = new HashMap<>();
+
+    public Duration maxHoldFor(UUID eventId) {
+        return maxHoldByEvent.getOrDefault(eventId, maxHold);
+    }
+}
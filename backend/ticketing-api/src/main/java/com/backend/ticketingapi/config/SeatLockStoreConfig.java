@@ -0,0 +1,37 @@
+package com.backend.ticketingapi.config;
+
+import com.backend.shared.seating.InMemorySeatLockStore;
+import com.backend.shared.seating.RedisSeatLockStore;
+import com.backend.shared.seating.SeatLockStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * Selects the seat lock store with seating.lock.store:
+ * - redis (default): shared by every API node and the registration workers
+ * - memory: in-JVM, for a single API node with direct registration only
+ *
+ * The memory store only replaces the seat locks and the availability index;
+ * inventory, sale flags, idempotency and rate limits still live in Redis. The
+ * registration workers always fence against Redis and cannot see in-memory
+ * locks, so in memory mode events are never queued and POST
+ * /api/register/queue is refused (see {@link
+ * com.backend.ticketingapi.service.AdaptiveRegistrationRouter}).
+ */
+@Configuration
+public class SeatLockStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "seating.lock.store", havingValue = "redis", matchIfMissing = true)
+    public SeatLockStore redisSeatLockStore(RedisTemplate<String, Object> redisTemplate) {
+        return new RedisSeatLockStore(redisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "seating.lock.store", havingValue = "memory")
+    public InMemorySeatLockStore inMemorySeatLockStore() {
+        return new InMemorySeatLockStore();
+    }
+}
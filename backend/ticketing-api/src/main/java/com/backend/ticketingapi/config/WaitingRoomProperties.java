@@ -0,0 +1,41 @@
+package com.backend.ticketingapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Waiting room settings (seating.waiting-room.*).
+ *
+ * While an event's waiting room is active, users queue in arrival order and are
+ * admitted to seat selection at a fixed rate shared by all API nodes.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "seating.waiting-room")
+public class WaitingRoomProperties {
+
+    /**
+     * Users admitted per second and event
+     */
+    private int admissionRate = 50;
+
+    /**
+     * Per-event overrides of the admission rate
+     */
+    private Map<UUID, Integer> admissionRateByEvent = new HashMap<>();
+
+    /**
+     * How long an admission token stays valid
+     */
+    private Duration admissionTtl = Duration.ofMinutes(5);
+
+    public int admissionRateFor(UUID eventId) {
+        return admissionRateByEvent.getOrDefault(eventId, admissionRate);
+    }
+}
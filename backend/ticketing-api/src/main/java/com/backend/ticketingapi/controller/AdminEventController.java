@@ -0,0 +1,62 @@
+package com.backend.ticketingapi.controller;
+
+import com.backend.ticketingapi.dto.SeatContentionDTO;
+import com.backend.ticketingapi.service.EventAvailabilityFlags;
+import com.backend.ticketingapi.service.SeatContentionTracker;
+import com.backend.ticketingapi.service.WaitingRoomService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/admin/events")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Event Operations", description = "Live on-sale monitoring and controls (Admin only)")
+public class AdminEventController {
+
+    private final SeatContentionTracker seatContentionTracker;
+    private final WaitingRoomService waitingRoomService;
+    private final EventAvailabilityFlags eventAvailabilityFlags;
+
+    @GetMapping("/{id}/contention")
+    @Operation(summary = "Most contended seats", description = "Seats and sections with the most recent lock conflicts on this API node")
+    public ResponseEntity<SeatContentionDTO> getContention(@PathVariable UUID id,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(seatContentionTracker.getContention(id, Math.max(1, limit)));
+    }
+
+    @PostMapping("/{id}/waiting-room")
+    @Operation(summary = "Activate waiting room", description = "Registration for this event now requires an admission token from the waiting room")
+    public ResponseEntity<Map<String, Boolean>> activateWaitingRoom(@PathVariable UUID id) {
+        waitingRoomService.activate(id);
+        return ResponseEntity.ok(Map.of("waitingRoomActive", true));
+    }
+
+    @DeleteMapping("/{id}/waiting-room")
+    @Operation(summary = "Deactivate waiting room", description = "Drops the queue and opens registration to everyone")
+    public ResponseEntity<Map<String, Boolean>> deactivateWaitingRoom(@PathVariable UUID id) {
+        waitingRoomService.deactivate(id);
+        return ResponseEntity.ok(Map.of("waitingRoomActive", false));
+    }
+
+    @PostMapping("/{id}/pause")
+    @Operation(summary = "Pause sales", description = "Every API node rejects registrations for this event until sales are resumed")
+    public ResponseEntity<Map<String, Boolean>> pauseSales(@PathVariable UUID id) {
+        eventAvailabilityFlags.pause(id);
+        return ResponseEntity.ok(Map.of("paused", true));
+    }
+
+    @DeleteMapping("/{id}/pause")
+    @Operation(summary = "Resume sales")
+    public ResponseEntity<Map<String, Boolean>> resumeSales(@PathVariable UUID id) {
+        eventAvailabilityFlags.resume(id);
+        return ResponseEntity.ok(Map.of("paused", false));
+    }
+}
@@ -0,0 +1,39 @@
+package com.backend.ticketingapi.controller;
+
+import com.backend.shared.enums.BookingStatus;
+import com.backend.ticketingapi.dto.BookingStatusDTO;
+import com.backend.ticketingapi.service.BookingStatusService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/bookings")
+@RequiredArgsConstructor
+@Tag(name = "Bookings", description = "Outcome of queued bookings")
+public class BookingController {
+
+    private final BookingStatusService bookingStatusService;
+
+    @GetMapping("/{bookingId}/status")
+    @Operation(summary = "Booking Status", description = "Status of a queued booking. With waitMs, the request is held until the status differs from knownStatus (default PENDING) or the wait ends (at most 30s), then answers with the current status.")
+    public DeferredResult<BookingStatusDTO> status(@PathVariable UUID bookingId,
+            @RequestParam(defaultValue = "0") long waitMs,
+            @RequestParam(defaultValue = "PENDING") BookingStatus knownStatus,
+            Authentication authentication) {
+        return bookingStatusService.awaitChange(extractUserId(authentication), bookingId, knownStatus, waitMs);
+    }
+
+    private UUID extractUserId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof Jwt jwt) {
+            return UUID.fromString(jwt.getSubject());
+        }
+        throw new IllegalStateException("User not authenticated with JWT");
+    }
+}
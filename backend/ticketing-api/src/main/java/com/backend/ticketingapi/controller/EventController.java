@@ -1,8 +1,10 @@
 package com.backend.ticketingapi.controller;
 
 import com.backend.ticketingapi.dto.EventDTO;
+import com.backend.ticketingapi.dto.SeatMapSnapshotDTO;
 import com.backend.ticketingapi.dto.request.CreateEventRequest;
 import com.backend.ticketingapi.service.EventService;
+import com.backend.ticketingapi.service.SeatAvailabilityIndex;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -25,6 +27,7 @@ import java.util.UUID;
 public class EventController {
 
     private final EventService eventService;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
 
     @GetMapping
     @Operation(summary = "List upcoming events", description = "Get a paginated list of upcoming public events")
@@ -39,6 +42,14 @@ public class EventController {
         return ResponseEntity.ok(eventService.getEvent(id));
     }
 
+    @GetMapping("/{id}/seats")
+    @Operation(summary = "Get seat map snapshot", description = "Current seat availability with the version of the last change. "
+            + "Apply deltas from /topic/events/{id}/seats with a higher version; resync on a version gap. "
+            + "409 for venues without a seat grid, which have no snapshot.")
+    public ResponseEntity<SeatMapSnapshotDTO> getSeatMap(@PathVariable UUID id) {
+        return ResponseEntity.ok(seatAvailabilityIndex.snapshot(id));
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Create a new event (Admin only)")
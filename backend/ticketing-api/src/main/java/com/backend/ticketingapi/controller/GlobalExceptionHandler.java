@@ -0,0 +1,109 @@
+package com.backend.ticketingapi.controller;
+
+import com.backend.shared.exceptions.IdempotencyKeyReusedException;
+import com.backend.shared.exceptions.NotAdmittedException;
+import com.backend.shared.exceptions.QueueUnavailableException;
+import com.backend.shared.exceptions.RateLimitExceededException;
+import com.backend.shared.exceptions.RegistrationQueuedException;
+import com.backend.shared.exceptions.RequestInProgressException;
+import com.backend.shared.exceptions.ResourceNotFoundException;
+import com.backend.shared.exceptions.SalesPausedException;
+import com.backend.shared.exceptions.SeatAlreadyBookedException;
+import com.backend.shared.exceptions.SeatLockExpiredException;
+import com.backend.shared.exceptions.SeatMapNotIndexedException;
+import com.backend.shared.exceptions.SoldOutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * Maps business exceptions that clients are expected to react to onto HTTP statuses.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(NotAdmittedException.class)
+    public ResponseEntity<Map<String, String>> handleNotAdmitted(NotAdmittedException e) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorBody(e.getErrorCode(), e.getUserMessage()));
+    }
+
+    @ExceptionHandler(SeatAlreadyBookedException.class)
+    public ResponseEntity<Map<String, Object>> handleSeatAlreadyBooked(SeatAlreadyBookedException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "errorCode", e.getErrorCode(),
+                "message", e.getUserMessage(),
+                "conflictingSeats", e.getConflictingSeats()));
+    }
+
+    /**
+     * The caller's locks are gone for good (expired or past the maximum hold):
+     * heartbeat clients stop extending and send the user back to seat selection.
+     */
+    @ExceptionHandler(SeatLockExpiredException.class)
+    public ResponseEntity<Map<String, String>> handleSeatLockExpired(SeatLockExpiredException e) {
+        return ResponseEntity.status(HttpStatus.GONE).body(errorBody(e.getErrorCode(), e.getUserMessage()));
+    }
+
+    @ExceptionHandler(SeatMapNotIndexedException.class)
+    public ResponseEntity<Map<String, String>> handleSeatMapNotIndexed(SeatMapNotIndexedException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorBody(e.getErrorCode(), e.getUserMessage()));
+    }
+
+    /**
+     * The event switched to queued mode: clients retry through the queue (or POST /api/register).
+     */
+    @ExceptionHandler(RegistrationQueuedException.class)
+    public ResponseEntity<Map<String, String>> handleRegistrationQueued(RegistrationQueuedException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorBody(e.getErrorCode(), e.getUserMessage()));
+    }
+
+    @ExceptionHandler(QueueUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleQueueUnavailable(QueueUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorBody(e.getErrorCode(), e.getUserMessage()));
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleNotFound(ResourceNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorBody(e.getErrorCode(), e.getUserMessage()));
+    }
+
+    @ExceptionHandler(SoldOutException.class)
+    public ResponseEntity<Map<String, Object>> handleSoldOut(SoldOutException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "errorCode", e.getErrorCode(),
+                "message", e.getUserMessage(),
+                "remaining", e.getRemaining()));
+    }
+
+    @ExceptionHandler(SalesPausedException.class)
+    public ResponseEntity<Map<String, String>> handleSalesPaused(SalesPausedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorBody(e.getErrorCode(), e.getUserMessage()));
+    }
+
+    @ExceptionHandler(RequestInProgressException.class)
+    public ResponseEntity<Map<String, String>> handleRequestInProgress(RequestInProgressException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorBody(e.getErrorCode(), e.getUserMessage()));
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyReused(IdempotencyKeyReusedException e) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(errorBody(e.getErrorCode(), e.getUserMessage()));
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Map<String, String>> handleRateLimited(RateLimitExceededException e) {
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(errorBody(e.getErrorCode(), e.getUserMessage()));
+    }
+
+    private static Map<String, String> errorBody(String errorCode, String message) {
+        return Map.of("errorCode", errorCode, "message", message);
+    }
+}
@@ -1,19 +1,33 @@
 package com.backend.ticketingapi.controller;
 
+import com.backend.shared.enums.BookingPriority;
+import com.backend.shared.enums.RegistrationMode;
+import com.backend.ticketingapi.dto.LockExtensionDTO;
 import com.backend.ticketingapi.dto.request.RegistrationRequest;
+import com.backend.ticketingapi.service.AdaptiveRegistrationRouter;
+import com.backend.ticketingapi.service.EventAvailabilityFlags;
+import com.backend.ticketingapi.service.IdempotencyService;
+import com.backend.ticketingapi.service.RateLimiter;
 import com.backend.ticketingapi.service.RegistrationService;
+import com.backend.ticketingapi.service.WaitingRoomService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/register")
@@ -22,24 +36,131 @@ import java.util.UUID;
 @Tag(name = "Registration", description = "Event Registration & Booking APIs")
 public class RegistrationController {
 
+    static final String ADMISSION_TOKEN_HEADER = "X-Admission-Token";
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final RegistrationService registrationService;
+    private final WaitingRoomService waitingRoomService;
+    private final EventAvailabilityFlags eventAvailabilityFlags;
+    private final IdempotencyService idempotencyService;
+    private final RateLimiter rateLimiter;
+    private final AdaptiveRegistrationRouter adaptiveRegistrationRouter;
+
+    @PostMapping
+    @Operation(summary = "Register", description = "Single entry point: locks seats directly (200, mode DIRECT), or queues the request while the event is under high demand (202, mode QUEUED). Retries with the same Idempotency-Key return the original booking, status and mode.")
+    public ResponseEntity<Map<String, Object>> register(@Valid @RequestBody RegistrationRequest request,
+            @RequestHeader(value = ADMISSION_TOKEN_HEADER, required = false) String admissionToken,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            Authentication authentication) {
+        UUID userId = extractUserId(authentication);
+        boolean queued = adaptiveRegistrationRouter.shouldQueue(request.eventId());
+        BookingPriority priority = priorityOf(authentication);
+        IdempotencyService.Result result = register(userId, request, admissionToken, idempotencyKey, "register",
+                queued ? RegistrationMode.QUEUED : RegistrationMode.DIRECT,
+                queued
+                        ? (user, event, seats) -> registrationService.registerViaQueue(user, event, seats, priority)
+                        : registrationService::registerSimple);
+        // A replay answers like the original request, whatever mode the event is in now
+        return ResponseEntity.status(result.mode() == RegistrationMode.QUEUED ? HttpStatus.ACCEPTED : HttpStatus.OK)
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(Map.of("bookingId", result.bookingId(), "mode", result.mode()));
+    }
 
     @PostMapping("/simple")
-    @Operation(summary = "Simple Registration", description = "Directly lock seats and proceed to payment (Low demand events)")
+    @Operation(summary = "Simple Registration", description = "Directly lock seats and proceed to payment (Low demand events). Rejected with 409 REGISTRATION_QUEUED while the event is in queued mode. Retries with the same Idempotency-Key return the original booking.")
     public ResponseEntity<Map<String, UUID>> registerSimple(@Valid @RequestBody RegistrationRequest request,
+            @RequestHeader(value = ADMISSION_TOKEN_HEADER, required = false) String admissionToken,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             Authentication authentication) {
         UUID userId = extractUserId(authentication);
-        UUID bookingId = registrationService.registerSimple(userId, request.eventId(), request.seatIdentifiers());
-        return ResponseEntity.ok(Map.of("bookingId", bookingId));
+        IdempotencyService.Result result = register(userId, request, admissionToken, idempotencyKey, "simple",
+                RegistrationMode.DIRECT, (user, event, seats) -> {
+                    // Direct locking would bypass the queue the event was switched to
+                    adaptiveRegistrationRouter.checkDirect(event);
+                    return registrationService.registerSimple(user, event, seats);
+                });
+        return ResponseEntity.ok()
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(Map.of("bookingId", result.bookingId()));
     }
 
     @PostMapping("/queue")
-    @Operation(summary = "Join Registration Queue", description = "Enter queue for high demand events. Returns a booking tracking ID.")
+    @Operation(summary = "Join Registration Queue", description = "Enter queue for high demand events. Returns a booking tracking ID. Retries with the same Idempotency-Key return the original booking. Refused with 503 QUEUE_UNAVAILABLE when the API runs with the in-memory seat lock store.")
     public ResponseEntity<Map<String, UUID>> registerViaQueue(@Valid @RequestBody RegistrationRequest request,
+            @RequestHeader(value = ADMISSION_TOKEN_HEADER, required = false) String admissionToken,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             Authentication authentication) {
+        adaptiveRegistrationRouter.checkQueueingSupported();
         UUID userId = extractUserId(authentication);
-        UUID bookingId = registrationService.registerViaQueue(userId, request.eventId(), request.seatIdentifiers());
-        return ResponseEntity.accepted().body(Map.of("bookingId", bookingId));
+        BookingPriority priority = priorityOf(authentication);
+        IdempotencyService.Result result = register(userId, request, admissionToken, idempotencyKey, "queue",
+                RegistrationMode.QUEUED, (user, event, seats) -> registrationService.registerViaQueue(user, event, seats, priority));
+        return ResponseEntity.accepted()
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(Map.of("bookingId", result.bookingId()));
+    }
+
+    @PostMapping("/release")
+    @Operation(summary = "Release Seat Locks", description = "Release seats held by the caller. Seats held by other users are left untouched.")
+    public ResponseEntity<Map<String, List<String>>> releaseSeats(@Valid @RequestBody RegistrationRequest request,
+            Authentication authentication) {
+        UUID userId = extractUserId(authentication);
+        List<String> releasedSeats = registrationService.releaseSeats(userId, request.eventId(),
+                request.seatIdentifiers());
+        return ResponseEntity.ok(Map.of("releasedSeats", releasedSeats));
+    }
+
+    @PostMapping("/{bookingId}/extend")
+    @Operation(summary = "Extend Seat Locks", description = "Checkout heartbeat: extends the caller's locks for a booking, up to the event's maximum hold time")
+    public ResponseEntity<LockExtensionDTO> extendLocks(@PathVariable UUID bookingId, Authentication authentication) {
+        UUID userId = extractUserId(authentication);
+        return ResponseEntity.ok(registrationService.extendBooking(userId, bookingId));
+    }
+
+    /**
+     * Runs a registration once per idempotency key, after the sale flag, rate
+     * limit and waiting room checks. A retry of a completed request gets its
+     * booking back first, even if the event has sold out or paused since;
+     * otherwise the sale flags are checked in memory before anything else, so
+     * requests for sold-out or paused events without a key never reach Redis.
+     */
+    private IdempotencyService.Result register(UUID userId, RegistrationRequest request, String admissionToken,
+            String idempotencyKey, String operation, RegistrationMode mode, Registration registration) {
+        Optional<IdempotencyService.Result> completed = idempotencyService.findCompleted(userId, idempotencyKey,
+                operation, mode, request.eventId(), request.seatIdentifiers());
+        if (completed.isPresent()) {
+            return completed.get();
+        }
+        eventAvailabilityFlags.checkOnSale(request.eventId(), request.seatIdentifiers().size());
+        rateLimiter.checkEvent(userId, request.eventId());
+        return idempotencyService.execute(userId, idempotencyKey, operation, mode, request.eventId(),
+                request.seatIdentifiers(), () -> {
+                    waitingRoomService.checkAdmission(request.eventId(), userId, admissionToken);
+                    return registration.register(userId, request.eventId(), request.seatIdentifiers());
+                });
+    }
+
+    @FunctionalInterface
+    private interface Registration {
+        UUID register(UUID userId, UUID eventId, List<String> seatIdentifiers);
+    }
+
+    /**
+     * Queue priority of the caller: VIP and presale roles are processed ahead
+     * of general sale.
+     */
+    private BookingPriority priorityOf(Authentication authentication) {
+        Set<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        if (roles.contains("ROLE_VIP")) {
+            return BookingPriority.VIP;
+        }
+        if (roles.contains("ROLE_PRESALE")) {
+            return BookingPriority.PRESALE;
+        }
+        return BookingPriority.GENERAL;
     }
 
     private UUID extractUserId(Authentication authentication) {
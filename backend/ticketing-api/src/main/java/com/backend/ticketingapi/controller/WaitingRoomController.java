@@ -0,0 +1,41 @@
+package com.backend.ticketingapi.controller;
+
+import com.backend.ticketingapi.dto.WaitingRoomStatusDTO;
+import com.backend.ticketingapi.service.WaitingRoomService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/waiting-room")
+@RequiredArgsConstructor
+@Tag(name = "Waiting Room", description = "Paced admission to registration for high demand events")
+public class WaitingRoomController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @PostMapping("/{eventId}")
+    @Operation(summary = "Join Waiting Room", description = "Queue for registration. Poll the status until ADMITTED, then register with the X-Admission-Token header.")
+    public ResponseEntity<WaitingRoomStatusDTO> join(@PathVariable UUID eventId, Authentication authentication) {
+        return ResponseEntity.ok(waitingRoomService.join(eventId, extractUserId(authentication)));
+    }
+
+    @GetMapping("/{eventId}")
+    @Operation(summary = "Waiting Room Status", description = "Position in the queue, or the admission token once admitted")
+    public ResponseEntity<WaitingRoomStatusDTO> status(@PathVariable UUID eventId, Authentication authentication) {
+        return ResponseEntity.ok(waitingRoomService.status(eventId, extractUserId(authentication)));
+    }
+
+    private UUID extractUserId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof Jwt jwt) {
+            return UUID.fromString(jwt.getSubject());
+        }
+        throw new IllegalStateException("User not authenticated with JWT");
+    }
+}
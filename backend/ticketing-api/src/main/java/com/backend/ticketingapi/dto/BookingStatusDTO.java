@@ -0,0 +1,18 @@
+package com.backend.ticketingapi.dto;
+
+import com.backend.shared.enums.BookingStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Latest status of a queued booking.
+ * reason is only set when the booking FAILED.
+ */
+public record BookingStatusDTO(
+        UUID bookingId,
+        UUID eventId,
+        BookingStatus status,
+        String reason,
+        Instant updatedAt) {
+}
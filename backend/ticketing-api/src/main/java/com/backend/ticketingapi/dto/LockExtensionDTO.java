@@ -0,0 +1,16 @@
+package com.backend.ticketingapi.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of a lock lease extension.
+ * Seats missing from extendedSeats were lost (expired or taken by someone else).
+ */
+public record LockExtensionDTO(
+        UUID bookingId,
+        List<String> extendedSeats,
+        Instant expiresAt,
+        Instant maxHoldUntil) {
+}
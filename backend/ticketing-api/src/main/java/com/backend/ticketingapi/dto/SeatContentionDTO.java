@@ -0,0 +1,16 @@
+package com.backend.ticketingapi.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Most contended seats and sections of an event (estimated lock conflicts).
+ */
+public record SeatContentionDTO(
+        UUID eventId,
+        List<HotSpot> seats,
+        List<HotSpot> sections) {
+
+    public record HotSpot(String id, long estimatedConflicts) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.backend.ticketingapi.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Full seat availability of an event at a given version.
+ * The raw index is included (Base64, 2 bits per seat in row-major order,
+ * SeatStatus ordinals) along with the decoded unavailable seats. Only
+ * procedural venues have snapshots.
+ */
+public record SeatMapSnapshotDTO(
+        UUID eventId,
+        long version,
+        Integer rows,
+        Integer cols,
+        String index,
+        List<String> lockedSeats,
+        List<String> bookedSeats) {
+}
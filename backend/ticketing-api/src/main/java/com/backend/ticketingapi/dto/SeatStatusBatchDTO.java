@@ -0,0 +1,16 @@
+package com.backend.ticketingapi.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Coalesced seat status frame broadcast on /topic/events/{eventId}/seats.
+ * Carries every delta of the event collected during one broadcast window,
+ * ordered by version.
+ */
+public record SeatStatusBatchDTO(
+        UUID eventId,
+        long fromVersion,
+        long toVersion,
+        List<SeatStatusUpdateDTO> updates) {
+}
@@ -0,0 +1,20 @@
+package com.backend.ticketingapi.dto;
+
+import com.backend.shared.enums.SeatStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seat status delta of an event, delivered in SeatStatusBatchDTO frames on
+ * /topic/events/{eventId}/seats.
+ * The version matches the seat map snapshot version right after the change,
+ * so clients can detect missed deltas (gap in versions) and resync.
+ */
+public record SeatStatusUpdateDTO(
+        UUID eventId,
+        long version,
+        SeatStatus status,
+        List<String> seatIds,
+        UUID userId) {
+}
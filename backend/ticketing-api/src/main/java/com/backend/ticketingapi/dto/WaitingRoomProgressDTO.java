@@ -0,0 +1,24 @@
+package com.backend.ticketingapi.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Progress of an event's waiting room, broadcast once per interval to every
+ * waiting client instead of one message per user.
+ *
+ * A client that joined with arrival sequence s is at most
+ * (s - servedThrough) places from the front, and is expected to be admitted
+ * in about (s - servedThrough) / admissionRate seconds.
+ *
+ * @param servedThrough Arrival sequence number of the last admitted user
+ * @param queueLength   Users still waiting
+ * @param admissionRate Measured admissions per second (moving average)
+ */
+public record WaitingRoomProgressDTO(
+        UUID eventId,
+        long servedThrough,
+        long queueLength,
+        double admissionRate,
+        Instant measuredAt) {
+}
@@ -0,0 +1,30 @@
+package com.backend.ticketingapi.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Place of a user in an event's waiting room.
+ * position (1-based) and sequence are only set while WAITING; admissionToken
+ * and admissionExpiresAt are only set once ADMITTED.
+ * Live progress is pushed on /topic/events/{eventId}/waiting-room (see
+ * {@link WaitingRoomProgressDTO}); the sequence is what clients compare it to.
+ */
+public record WaitingRoomStatusDTO(
+        UUID eventId,
+        State state,
+        Long position,
+        Long sequence,
+        String admissionToken,
+        Instant admissionExpiresAt) {
+
+    public enum State {
+        /** The waiting room is not active; register directly */
+        OPEN,
+        /** Not in the queue; join it first */
+        NOT_QUEUED,
+        WAITING,
+        /** Send admissionToken as X-Admission-Token when registering */
+        ADMITTED
+    }
+}
@@ -1,12 +1,23 @@
 package com.backend.ticketingapi.dto.request;
 
+import com.backend.shared.seating.SeatLayout;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Seat identifiers are canonicalized (see SeatLayout#canonicalId) and
+ * de-duplicated here, so "a1" and "A1" are the same seat everywhere after.
+ */
 public record RegistrationRequest(
         @NotNull(message = "Event ID is required") UUID eventId,
 
         @NotEmpty(message = "Selection of seats is required") List<String> seatIdentifiers) {
+
+    public RegistrationRequest {
+        if (seatIdentifiers != null) {
+            seatIdentifiers = seatIdentifiers.stream().map(SeatLayout::canonicalId).distinct().toList();
+        }
+    }
 }
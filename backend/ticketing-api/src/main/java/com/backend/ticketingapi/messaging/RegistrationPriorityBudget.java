@@ -0,0 +1,66 @@
+package com.backend.ticketingapi.messaging;
+
+import com.backend.shared.enums.BookingPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starvation protection for the priority registration queues.
+ *
+ * Priority queues deliver higher tiers strictly first, so a flood of VIP or
+ * presale bookings could hold general sale back indefinitely. Within each
+ * window (messaging.registration.priority.window-ms) at most max-share of
+ * the published commands keep an elevated priority (at least min-elevated);
+ * the rest are published as GENERAL and processed in arrival order. General
+ * sale therefore always keeps a share of worker throughput, while tiered
+ * latency stays flat as long as tiered traffic stays within its share.
+ */
+@Component
+public class RegistrationPriorityBudget {
+
+    private final double maxShare;
+    private final long windowMs;
+    private final int minElevated;
+    private final Counter downgraded;
+
+    private long windowStart;
+    private int published;
+    private int elevated;
+
+    public RegistrationPriorityBudget(MeterRegistry meterRegistry,
+            @Value("${messaging.registration.priority.max-share:0.5}") double maxShare,
+            @Value("${messaging.registration.priority.window-ms:1000}") long windowMs,
+            @Value("${messaging.registration.priority.min-elevated:10}") int minElevated) {
+        this.maxShare = maxShare;
+        this.windowMs = windowMs;
+        this.minElevated = minElevated;
+        this.downgraded = Counter.builder("registration.priority.downgraded")
+                .description("Tiered booking commands published as GENERAL because their share was exhausted")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the priority the command is published with
+     */
+    public synchronized BookingPriority admit(BookingPriority requested) {
+        long now = System.currentTimeMillis();
+        if (now - windowStart >= windowMs) {
+            windowStart = now;
+            published = 0;
+            elevated = 0;
+        }
+        published++;
+
+        if (requested == BookingPriority.GENERAL) {
+            return requested;
+        }
+        if (elevated < Math.max(minElevated, maxShare * published)) {
+            elevated++;
+            return requested;
+        }
+        downgraded.increment();
+        return BookingPriority.GENERAL;
+    }
+}
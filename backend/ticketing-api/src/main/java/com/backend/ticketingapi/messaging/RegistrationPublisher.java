@@ -1,34 +1,241 @@
 package com.backend.ticketingapi.messaging;
 
+import com.backend.shared.exceptions.TechnicalException;
 import com.backend.shared.messaging.commands.ProcessBookingCommand;
 import com.backend.ticketingapi.config.RabbitMQConfig;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes booking requests to the registration queue with publisher confirms.
+ * Each command goes to the partition queue of its event (see RabbitMQConfig#routingKeyFor),
+ * with the message priority of its tier (see RegistrationPriorityBudget).
+ *
+ * Callers hand commands to an outbox; a single flusher thread sends whatever
+ * has accumulated (up to messaging.registration.publisher.batch-size) on one
+ * channel, each with its own correlation data, while the broker confirms
+ * earlier batches. So many requests wait for their confirms concurrently
+ * instead of one after the other. The number of unconfirmed commands is bounded
+ * by messaging.registration.publisher.max-in-flight; beyond that, publishing
+ * fails fast instead of queueing unbounded work in memory.
+ *
+ * Requires spring.rabbitmq.publisher-confirm-type=correlated, and
+ * publisher-returns with a mandatory template so unroutable commands fail too.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class RegistrationPublisher {
 
     private final RabbitTemplate rabbitTemplate;
     private final RabbitMQConfig rabbitMQConfig;
+    private final RegistrationPriorityBudget priorityBudget;
+    private final int batchSize;
+    private final long confirmTimeoutMs;
+    private final long acquireTimeoutMs;
+
+    private final Semaphore inFlight;
+    private final BlockingQueue<PendingPublish> outbox = new LinkedBlockingQueue<>();
+    private final Thread flusher = new Thread(this::flushLoop, "registration-publisher");
+    private volatile boolean running;
+
+    private final DistributionSummary batchSizes;
+    private final Timer confirmLatency;
+    private final MeterRegistry meterRegistry;
+
+    public RegistrationPublisher(RabbitTemplate rabbitTemplate,
+            RabbitMQConfig rabbitMQConfig,
+            RegistrationPriorityBudget priorityBudget,
+            MeterRegistry meterRegistry,
+            @Value("${messaging.registration.publisher.max-in-flight:512}") int maxInFlight,
+            @Value("${messaging.registration.publisher.batch-size:32}") int batchSize,
+            @Value("${messaging.registration.publisher.confirm-timeout-ms:5000}") long confirmTimeoutMs,
+            @Value("${messaging.registration.publisher.acquire-timeout-ms:100}") long acquireTimeoutMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.rabbitMQConfig = rabbitMQConfig;
+        this.priorityBudget = priorityBudget;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.meterRegistry = meterRegistry;
+
+        this.batchSizes = DistributionSummary.builder("registration.publish.batch.size")
+                .description("Booking commands sent per channel flush")
+                .register(meterRegistry);
+        this.confirmLatency = Timer.builder("registration.publish.confirm.latency")
+                .description("Time from handing a booking command to the publisher until the broker confirmed it")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("registration.publish.in.flight", () -> maxInFlight - inFlight.availablePermits())
+                .description("Booking commands handed to the publisher and not yet confirmed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+    }
 
     /**
-     * Publishes a booking request to the registration queue.
-     * This allows async processing by worker services.
+     * Publishes a booking request to the registration queue and waits until the
+     * broker has confirmed it. This allows async processing by worker services.
      *
      * @param command The booking command containing user, event, and seat details
+     * @throws TechnicalException if the broker did not accept the command
      */
     public void publishRegistrationRequest(ProcessBookingCommand command) {
-        log.info("Publishing registration request for bookingId: {}", command.getBookingId());
+        try {
+            publishAsync(command).get();
+            log.info("Published request to queue for bookingId: {}", command.getBookingId());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TechnicalException technical) {
+                throw technical;
+            }
+            String code = cause instanceof TimeoutException ? "PUBLISH_TIMEOUT" : "PUBLISH_FAILED";
+            throw new TechnicalException(code, "Booking " + command.getBookingId() + " was not accepted by the broker",
+                    cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TechnicalException("PUBLISH_INTERRUPTED", "Interrupted while publishing booking "
+                    + command.getBookingId(), e);
+        }
+    }
 
-        rabbitTemplate.convertAndSend(
-                rabbitMQConfig.getRegistrationExchange(),
-                rabbitMQConfig.getRegistrationRoutingKey(),
-                command);
+    /**
+     * Hands a booking request to the publisher.
+     *
+     * @return a future completed once the broker confirmed the command, or
+     *         failed if it was rejected, unroutable or not confirmed in time
+     */
+    public CompletableFuture<Void> publishAsync(ProcessBookingCommand command) {
+        try {
+            if (!inFlight.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                failure("backpressure");
+                return CompletableFuture.failedFuture(new TechnicalException("PUBLISH_BACKPRESSURE",
+                        "Too many booking requests awaiting broker confirmation"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        PendingPublish pending = new PendingPublish(command, new CompletableFuture<>(), System.nanoTime());
+        pending.confirmed()
+                .orTimeout(confirmTimeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, error) -> {
+                    inFlight.release();
+                    confirmLatency.record(System.nanoTime() - pending.queuedAt(), TimeUnit.NANOSECONDS);
+                    if (error instanceof TimeoutException) {
+                        failure("timeout");
+                    }
+                });
+        if (!running) {
+            pending.confirmed().completeExceptionally(
+                    new TechnicalException("PUBLISH_STOPPED", "Registration publisher is shutting down"));
+            return pending.confirmed();
+        }
+        outbox.add(pending);
+        return pending.confirmed();
+    }
+
+    private void flushLoop() {
+        List<PendingPublish> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(outbox.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            outbox.drainTo(batch, batchSize - 1);
+            send(batch);
+            batch.clear();
+        }
+
+        outbox.drainTo(batch);
+        batch.forEach(pending -> pending.confirmed().completeExceptionally(
+                new TechnicalException("PUBLISH_STOPPED", "Registration publisher is shutting down")));
+    }
+
+    /**
+     * Sends a batch on a single channel; confirms complete each command's future.
+     */
+    private void send(List<PendingPublish> batch) {
+        batchSizes.record(batch.size());
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (PendingPublish pending : batch) {
+                    CorrelationData correlation = new CorrelationData(pending.command().getBookingId().toString());
+                    correlation.getFuture().whenComplete((confirm, error) -> settle(pending, correlation, error));
+                    int priority = priorityBudget.admit(pending.command().getPriority()).getLevel();
+                    operations.convertAndSend(
+                            rabbitMQConfig.getRegistrationExchange(),
+                            rabbitMQConfig.routingKeyFor(pending.command().getEventId()),
+                            pending.command(),
+                            message -> {
+                                message.getMessageProperties().setPriority(priority);
+                                return message;
+                            },
+                            correlation);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to send {} booking requests", batch.size(), e);
+            failure("send");
+            batch.forEach(pending -> pending.confirmed().completeExceptionally(e));
+        }
+    }
+
+    private void settle(PendingPublish pending, CorrelationData correlation, Throwable error) {
+        CorrelationData.Confirm confirm = error == null ? correlation.getFuture().join() : null;
+        if (confirm == null || !confirm.isAck()) {
+            String reason = confirm != null ? confirm.getReason() : String.valueOf(error);
+            failure("nack");
+            pending.confirmed().completeExceptionally(new TechnicalException("PUBLISH_NACK",
+                    "Broker rejected booking " + pending.command().getBookingId() + ": " + reason));
+        } else if (correlation.getReturned() != null) {
+            failure("unroutable");
+            pending.confirmed().completeExceptionally(new TechnicalException("PUBLISH_UNROUTABLE",
+                    "No queue bound for booking " + pending.command().getBookingId() + ": "
+                            + correlation.getReturned().getReplyText()));
+        } else {
+            pending.confirmed().complete(null);
+        }
+    }
+
+    private void failure(String reason) {
+        meterRegistry.counter("registration.publish.failures", "reason", reason).increment();
+    }
 
-        log.info("Published request to queue");
+    private record PendingPublish(ProcessBookingCommand command, CompletableFuture<Void> confirmed, long queuedAt) {
     }
 }
@@ -0,0 +1,89 @@
+package com.backend.ticketingapi.messaging;
+
+import com.backend.shared.seating.RedisSeatLockStore;
+import com.backend.ticketingapi.service.SeatLockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns expired seat_lock:* keys into AVAILABLE broadcasts.
+ *
+ * Redis key expiry notifications are collected per event and released in one
+ * script call per event every seating.lock.expiry.batch-ms, which also clears
+ * the seats from the availability index.
+ */
+@Component
+@ConditionalOnProperty(name = "seating.lock.store", havingValue = "redis", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class SeatLockExpiryListener implements MessageListener {
+
+    private final SeatLockService seatLockService;
+    private final RedisConnectionFactory connectionFactory;
+
+    @Value("${seating.lock.expiry.configure-keyspace-notifications:true}")
+    private boolean configureKeyspaceNotifications;
+
+    // Expired seats waiting for the next batch, per event; sets are only mutated inside compute()
+    private final Map<UUID, Set<String>> expiredSeats = new ConcurrentHashMap<>();
+
+    /**
+     * Enables expired-key notifications on the Redis server. Managed Redis
+     * offerings often disable CONFIG; set the property to false there and
+     * configure notify-keyspace-events on the server instead.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void enableExpiryNotifications() {
+        if (!configureKeyspaceNotifications) {
+            return;
+        }
+        try (var connection = connectionFactory.getConnection()) {
+            connection.serverCommands().setConfig("notify-keyspace-events", "Ex");
+        } catch (Exception e) {
+            log.warn("Could not enable Redis keyspace notifications, expired seat locks will not be broadcast", e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String key = new String(message.getBody(), StandardCharsets.UTF_8);
+        RedisSeatLockStore.parseLockKey(key).ifPresent(seat ->
+                expiredSeats.compute(seat.eventId(), (id, seats) -> {
+                    Set<String> target = seats != null ? seats : new HashSet<>();
+                    target.add(seat.seatId());
+                    return target;
+                }));
+    }
+
+    @Scheduled(fixedDelayString = "${seating.lock.expiry.batch-ms:100}")
+    public void releaseExpiredSeats() {
+        for (UUID eventId : expiredSeats.keySet()) {
+            Set<String> seats = expiredSeats.remove(eventId);
+            if (seats == null || seats.isEmpty()) {
+                continue;
+            }
+            try {
+                seatLockService.releaseExpiredSeats(eventId, new ArrayList<>(seats));
+            } catch (Exception e) {
+                log.error("Failed to release expired seats {} for event {}", seats, eventId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.backend.ticketingapi.messaging;
+
+import com.backend.ticketingapi.dto.SeatStatusBatchDTO;
+import com.backend.ticketingapi.dto.SeatStatusUpdateDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces seat status deltas per event and broadcasts them as one frame per
+ * event every broadcast window (seating.broadcast.window-ms), instead of one
+ * STOMP frame per seat change.
+ */
+@Component
+@Slf4j
+public class SeatStatusBroadcaster {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final DistributionSummary batchSize;
+    private final Timer flushLatency;
+
+    // Pending deltas per event; batches are only mutated inside compute()
+    private final Map<UUID, PendingBatch> pending = new ConcurrentHashMap<>();
+
+    public SeatStatusBroadcaster(SimpMessagingTemplate messagingTemplate, MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.batchSize = DistributionSummary.builder("seat.broadcast.batch.size")
+                .description("Seat status deltas per broadcast frame")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("seat.broadcast.flush.latency")
+                .description("Time between the first delta of a frame and its broadcast")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a delta for the next broadcast window of its event.
+     */
+    public void publish(SeatStatusUpdateDTO update) {
+        pending.compute(update.eventId(), (eventId, batch) -> {
+            PendingBatch target = batch != null ? batch : new PendingBatch(System.nanoTime());
+            target.updates().add(update);
+            return target;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${seating.broadcast.window-ms:50}")
+    public void flush() {
+        for (UUID eventId : pending.keySet()) {
+            PendingBatch batch = pending.remove(eventId);
+            if (batch == null || batch.updates().isEmpty()) {
+                continue;
+            }
+
+            List<SeatStatusUpdateDTO> updates = batch.updates();
+            updates.sort(Comparator.comparingLong(SeatStatusUpdateDTO::version));
+            SeatStatusBatchDTO frame = new SeatStatusBatchDTO(
+                    eventId,
+                    updates.get(0).version(),
+                    updates.get(updates.size() - 1).version(),
+                    updates);
+
+            try {
+                // Topic: /topic/events/{eventId}/seats
+                messagingTemplate.convertAndSend("/topic/events/" + eventId + "/seats", frame);
+            } catch (Exception e) {
+                log.error("Failed to broadcast seat status batch for event {}", eventId, e);
+            }
+            batchSize.record(updates.size());
+            flushLatency.record(System.nanoTime() - batch.firstQueuedAt(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private record PendingBatch(long firstQueuedAt, List<SeatStatusUpdateDTO> updates) {
+        PendingBatch(long firstQueuedAt) {
+            this(firstQueuedAt, new ArrayList<>());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.backend.ticketingapi.messaging;
+
+import com.backend.shared.seating.SeatStatusChannel;
+import com.backend.ticketingapi.dto.SeatStatusUpdateDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Feeds seat map changes made by the registration workers (published on
+ * {@link SeatStatusChannel#CHANNEL}) into this node's {@link SeatStatusBroadcaster},
+ * next to the changes the API makes itself.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatStatusRelay implements MessageListener {
+
+    private final SeatStatusBroadcaster seatStatusBroadcaster;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        SeatStatusChannel.Delta delta;
+        try {
+            delta = SeatStatusChannel.parse(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed seat status message", e);
+            return;
+        }
+        seatStatusBroadcaster.publish(new SeatStatusUpdateDTO(
+                delta.eventId(), delta.version(), delta.status(), delta.seatIds(), delta.userId()));
+    }
+}
@@ -0,0 +1,79 @@
+package com.backend.ticketingapi.messaging;
+
+import com.backend.ticketingapi.config.WaitingRoomProperties;
+import com.backend.ticketingapi.dto.WaitingRoomProgressDTO;
+import com.backend.ticketingapi.service.WaitingRoomService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes the progress of every active waiting room on
+ * /topic/events/{eventId}/waiting-room, one frame per event per interval
+ * (seating.waiting-room.broadcast-ms). Clients derive their own position and
+ * wait time from it, so the cost does not grow with the number of waiting users.
+ *
+ * The admission rate is measured from how fast servedThrough moves (an
+ * exponentially weighted moving average), so it reflects admissions by every
+ * API node; it starts at the configured rate.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitingRoomBroadcaster {
+
+    private static final double RATE_SMOOTHING = 0.3;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final WaitingRoomService waitingRoomService;
+    private final WaitingRoomProperties waitingRoomProperties;
+
+    private final Map<UUID, RateSample> rates = new ConcurrentHashMap<>();
+
+    @Scheduled(fixedDelayString = "${seating.waiting-room.broadcast-ms:1000}")
+    public void broadcast() {
+        Set<UUID> activeEvents = waitingRoomService.activeEvents();
+        rates.keySet().retainAll(activeEvents);
+
+        for (UUID eventId : activeEvents) {
+            try {
+                WaitingRoomService.Progress progress = waitingRoomService.progress(eventId);
+                double rate = measureRate(eventId, progress.servedThrough());
+                // Topic: /topic/events/{eventId}/waiting-room
+                messagingTemplate.convertAndSend("/topic/events/" + eventId + "/waiting-room",
+                        new WaitingRoomProgressDTO(eventId, progress.servedThrough(), progress.queueLength(),
+                                rate, Instant.now()));
+            } catch (Exception e) {
+                log.error("Failed to broadcast waiting room progress for event {}", eventId, e);
+            }
+        }
+    }
+
+    private double measureRate(UUID eventId, long servedThrough) {
+        long now = System.nanoTime();
+        RateSample sample = rates.compute(eventId, (id, previous) -> {
+            if (previous == null || servedThrough < previous.servedThrough()) {
+                return new RateSample(servedThrough, now, waitingRoomProperties.admissionRateFor(id));
+            }
+            double seconds = (now - previous.measuredAt()) / 1e9;
+            if (seconds <= 0) {
+                return previous;
+            }
+            double observed = (servedThrough - previous.servedThrough()) / seconds;
+            double rate = RATE_SMOOTHING * observed + (1 - RATE_SMOOTHING) * previous.rate();
+            return new RateSample(servedThrough, now, rate);
+        });
+        return sample.rate();
+    }
+
+    private record RateSample(long servedThrough, long measuredAt, double rate) {
+    }
+}
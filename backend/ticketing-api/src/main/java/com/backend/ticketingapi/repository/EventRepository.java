@@ -3,6 +3,7 @@ package com.backend.ticketingapi.repository;
 import com.backend.shared.enums.EventStatus;
 import com.backend.shared.enums.EventType;
 import com.backend.ticketingapi.domain.event.Event;
+import com.backend.ticketingapi.domain.venue.Venue;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -40,4 +42,16 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
      * Find events by type.
      */
     Page<Event> findByEventType(EventType eventType, Pageable pageable);
+
+    /**
+     * Find the venue of an event without loading the event itself.
+     */
+    @Query("SELECT e.venue FROM Event e WHERE e.id = :eventId")
+    Optional<Venue> findVenueByEventId(@Param("eventId") UUID eventId);
+
+    /**
+     * Find the number of seats on sale for an event: its own cap, or else the venue capacity.
+     */
+    @Query("SELECT COALESCE(e.maxCapacity, v.capacity) FROM Event e LEFT JOIN e.venue v WHERE e.id = :eventId")
+    Optional<Integer> findCapacityByEventId(@Param("eventId") UUID eventId);
 }
@@ -0,0 +1,224 @@
+package com.backend.ticketingapi.service;
+
+import com.backend.shared.exceptions.QueueUnavailableException;
+import com.backend.shared.exceptions.RegistrationQueuedException;
+import com.backend.ticketingapi.config.AdaptiveRoutingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Chooses between direct and queued registration per event from measured load.
+ *
+ * Every node counts lock attempts per event locally and adds them to a
+ * per-window Redis hash (registration_load:{eventId}:{window}) a few times per
+ * window. Each node then evaluates the last complete window from the
+ * cluster-wide totals, smooths the rate with a moving average, and applies the
+ * enter/exit thresholds of {@link AdaptiveRoutingProperties}. The resulting
+ * mode is the queued event flag, so every node sees a switch immediately
+ * through {@link EventAvailabilityFlags}.
+ *
+ * Only the request rate switches modes. Queued registrations still lock their
+ * seats in the request (so users learn about taken seats right away and the
+ * worker can fence), so queueing moves ticket writes off the request path but
+ * does not reduce lock conflicts; routing on the conflict ratio would queue
+ * events without relieving what triggered it.
+ *
+ * With the in-memory seat lock store (seating.lock.store=memory) locks only
+ * exist in this node, where the registration workers cannot see them, so
+ * registration is direct-only: nothing is measured, events are never queued
+ * and queued registrations are refused.
+ */
+@Service
+@Slf4j
+public class AdaptiveRegistrationRouter {
+
+    private static final String LOAD_KEY_PREFIX = "registration_load:";
+    private static final String ATTEMPTS = "attempts";
+    private static final int FLUSHES_PER_WINDOW = 4;
+    private static final int RETAINED_WINDOWS = 10;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final EventAvailabilityFlags eventAvailabilityFlags;
+    private final AdaptiveRoutingProperties properties;
+    // False with the in-memory lock store, whose locks the workers cannot fence
+    private final boolean queueingSupported;
+
+    // Counts not yet added to Redis, per event
+    private final Map<UUID, LongAdder> pending = new ConcurrentHashMap<>();
+    // Smoothed load per event, only touched by the scheduled job
+    private final Map<UUID, EventLoad> loads = new ConcurrentHashMap<>();
+
+    public AdaptiveRegistrationRouter(RedisTemplate<String, Object> redisTemplate,
+            EventAvailabilityFlags eventAvailabilityFlags,
+            AdaptiveRoutingProperties properties,
+            @Value("${seating.lock.store:redis}") String lockStore) {
+        this.redisTemplate = redisTemplate;
+        this.eventAvailabilityFlags = eventAvailabilityFlags;
+        this.properties = properties;
+        this.queueingSupported = !"memory".equals(lockStore);
+    }
+
+    /**
+     * Whether a registration for the event should go through the queue.
+     */
+    public boolean shouldQueue(UUID eventId) {
+        return queueingSupported && eventAvailabilityFlags.isQueued(eventId);
+    }
+
+    /**
+     * @throws RegistrationQueuedException if registrations for the event go through the queue
+     */
+    public void checkDirect(UUID eventId) {
+        if (shouldQueue(eventId)) {
+            throw new RegistrationQueuedException(eventId);
+        }
+    }
+
+    /**
+     * @throws QueueUnavailableException if this deployment only supports direct registration
+     */
+    public void checkQueueingSupported() {
+        if (!queueingSupported) {
+            throw new QueueUnavailableException();
+        }
+    }
+
+    /**
+     * Counts a lock attempt of the event.
+     */
+    public void recordLockAttempt(UUID eventId) {
+        if (!isActive()) {
+            return;
+        }
+        pending.computeIfAbsent(eventId, id -> new LongAdder()).increment();
+    }
+
+    @Scheduled(fixedDelayString = "#{${registration.adaptive.window-ms:1000} / 4}")
+    public void flushAndEvaluate() {
+        if (!isActive()) {
+            return;
+        }
+        long windowMs = properties.getWindowMs();
+        long now = System.currentTimeMillis();
+        try {
+            flush(now / windowMs);
+            // Evaluate the last window every node has had the chance to flush
+            long complete = (now - windowMs / FLUSHES_PER_WINDOW) / windowMs - 1;
+            evaluate(complete);
+        } catch (RuntimeException e) {
+            log.error("Failed to update registration load", e);
+        }
+    }
+
+    private boolean isActive() {
+        return properties.isEnabled() && queueingSupported;
+    }
+
+    private void flush(long window) {
+        List<Map.Entry<UUID, Long>> counts = new ArrayList<>();
+        for (Map.Entry<UUID, LongAdder> entry : pending.entrySet()) {
+            long attempts = entry.getValue().sumThenReset();
+            if (attempts > 0) {
+                counts.add(Map.entry(entry.getKey(), attempts));
+                loads.computeIfAbsent(entry.getKey(), id -> new EventLoad());
+            } else {
+                pending.remove(entry.getKey(), entry.getValue());
+            }
+        }
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        Duration retention = Duration.ofMillis(properties.getWindowMs() * RETAINED_WINDOWS);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                for (Map.Entry<UUID, Long> count : counts) {
+                    String key = loadKey(count.getKey(), window);
+                    operations.opsForHash().increment(key, ATTEMPTS, count.getValue());
+                    operations.expire(key, retention);
+                }
+                return null;
+            }
+        });
+    }
+
+    private void evaluate(long window) {
+        Set<UUID> events = new HashSet<>(loads.keySet());
+        // Queued events must be able to return to direct mode even if this node sees no traffic
+        events.addAll(eventAvailabilityFlags.queuedEvents());
+        for (UUID eventId : events) {
+            EventLoad load = loads.computeIfAbsent(eventId, id -> new EventLoad());
+            if (load.evaluatedWindow >= window) {
+                continue;
+            }
+            long attempts = parse(redisTemplate.opsForHash().get(loadKey(eventId, window), ATTEMPTS));
+            load.update(window, attempts * 1000.0 / properties.getWindowMs(), properties.getSmoothing());
+            decide(eventId, load);
+        }
+    }
+
+    private void decide(UUID eventId, EventLoad load) {
+        boolean queued = eventAvailabilityFlags.isQueued(eventId);
+        if (!queued) {
+            if (load.rate >= properties.getEnterRate()) {
+                if (eventAvailabilityFlags.setQueued(eventId, true)) {
+                    log.warn("Event {} switched to queued registration (rate {}/s)",
+                            eventId, String.format("%.1f", load.rate));
+                }
+                load.calmWindows = 0;
+            } else if (load.rate == 0) {
+                loads.remove(eventId);
+            }
+            return;
+        }
+
+        boolean calm = load.rate <= properties.getExitRate();
+        load.calmWindows = calm ? load.calmWindows + 1 : 0;
+        if (load.calmWindows >= properties.getCalmWindows()) {
+            if (eventAvailabilityFlags.setQueued(eventId, false)) {
+                log.info("Event {} switched back to direct registration", eventId);
+            }
+            loads.remove(eventId);
+        }
+    }
+
+    private static long parse(Object value) {
+        return value != null ? Long.parseLong(value.toString()) : 0L;
+    }
+
+    private static String loadKey(UUID eventId, long window) {
+        return LOAD_KEY_PREFIX + eventId + ":" + window;
+    }
+
+    /**
+     * Smoothed cluster-wide load of one event.
+     */
+    private static final class EventLoad {
+        private long evaluatedWindow = Long.MIN_VALUE;
+        private double rate;
+        private int calmWindows;
+
+        void update(long window, double windowRate, double smoothing) {
+            boolean first = evaluatedWindow == Long.MIN_VALUE;
+            rate = first ? windowRate : smoothing * windowRate + (1 - smoothing) * rate;
+            evaluatedWindow = window;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.backend.ticketingapi.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Remembers which seats a booking holds, so the lock lease can be extended
+ * (and later released) by booking ID.
+ * Stored as a Redis hash booking_hold:{bookingId} that lives as long as the
+ * maximum hold time of the event.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingHoldService {
+
+    private static final String KEY_PREFIX = "booking_hold:";
+    private static final String SEAT_SEPARATOR = ",";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * Seats held by a booking since its first lock.
+     */
+    public record BookingHold(UUID bookingId, UUID userId, UUID eventId, List<String> seatIds, Instant lockedAt) {
+    }
+
+    public void save(BookingHold hold, Duration maxHold) {
+        String key = KEY_PREFIX + hold.bookingId();
+        Map<String, String> fields = Map.of(
+                "userId", hold.userId().toString(),
+                "eventId", hold.eventId().toString(),
+                "seatIds", String.join(SEAT_SEPARATOR, hold.seatIds()),
+                "lockedAt", String.valueOf(hold.lockedAt().toEpochMilli()));
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                operations.opsForHash().putAll(key, fields);
+                operations.expire(key, maxHold);
+                return null;
+            }
+        });
+    }
+
+    public Optional<BookingHold> find(UUID bookingId) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(KEY_PREFIX + bookingId);
+        if (fields.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new BookingHold(
+                bookingId,
+                UUID.fromString((String) fields.get("userId")),
+                UUID.fromString((String) fields.get("eventId")),
+                Arrays.asList(((String) fields.get("seatIds")).split(SEAT_SEPARATOR)),
+                Instant.ofEpochMilli(Long.parseLong((String) fields.get("lockedAt")))));
+    }
+}
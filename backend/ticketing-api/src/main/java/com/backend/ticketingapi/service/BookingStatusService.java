@@ -0,0 +1,133 @@
+package com.backend.ticketingapi.service;
+
+import com.backend.shared.booking.RedisBookingStatusStore;
+import com.backend.shared.enums.BookingStatus;
+import com.backend.shared.exceptions.ResourceNotFoundException;
+import com.backend.ticketingapi.dto.BookingStatusDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Status of queued bookings, with long-polling.
+ *
+ * A long-polling request is parked as a DeferredResult, so it holds no servlet
+ * thread while it waits. It is completed when this node receives the booking's
+ * status change on the booking status channel, or with the current status once
+ * the wait ends.
+ */
+@Service
+@Slf4j
+public class BookingStatusService implements MessageListener {
+
+    private final RedisBookingStatusStore statusStore;
+    private final long maxWaitMs;
+    private final ConcurrentMap<UUID, Set<DeferredResult<BookingStatusDTO>>> waiters = new ConcurrentHashMap<>();
+
+    public BookingStatusService(RedisBookingStatusStore statusStore,
+            MeterRegistry meterRegistry,
+            @Value("${registration.status.max-wait-ms:30000}") long maxWaitMs) {
+        this.statusStore = statusStore;
+        this.maxWaitMs = maxWaitMs;
+        Gauge.builder("booking.status.waiters", waiters, w -> w.values().stream().mapToInt(Set::size).sum())
+                .description("Long-polling booking status requests parked on this node")
+                .register(meterRegistry);
+    }
+
+    public void recordQueued(UUID bookingId, UUID userId, UUID eventId) {
+        record(bookingId, userId, eventId, BookingStatus.PENDING, null);
+    }
+
+    public void recordFailed(UUID bookingId, UUID userId, UUID eventId, String reason) {
+        record(bookingId, userId, eventId, BookingStatus.FAILED, reason);
+    }
+
+    /**
+     * @throws ResourceNotFoundException if the booking is unknown or belongs to someone else
+     */
+    public BookingStatusDTO status(UUID userId, UUID bookingId) {
+        return statusStore.find(bookingId)
+                .filter(snapshot -> snapshot.userId().equals(userId))
+                .map(BookingStatusService::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("BOOKING_NOT_FOUND", "No status is known for this booking"));
+    }
+
+    /**
+     * Answers once the booking's status differs from knownStatus, or with the
+     * current status after waitMs (capped at registration.status.max-wait-ms).
+     *
+     * @throws ResourceNotFoundException if the booking is unknown or belongs to someone else
+     */
+    public DeferredResult<BookingStatusDTO> awaitChange(UUID userId, UUID bookingId, BookingStatus knownStatus,
+            long waitMs) {
+        BookingStatusDTO current = status(userId, bookingId);
+        long timeoutMs = Math.min(waitMs, maxWaitMs);
+        DeferredResult<BookingStatusDTO> result = new DeferredResult<>(Math.max(timeoutMs, 1L));
+        if (timeoutMs <= 0 || current.status() != knownStatus) {
+            result.setResult(current);
+            return result;
+        }
+
+        result.onTimeout(() -> result.setResult(statusStore.find(bookingId).map(BookingStatusService::toDto)
+                .orElse(current)));
+        result.onCompletion(() -> waiters.computeIfPresent(bookingId, (id, parked) -> {
+            parked.remove(result);
+            return parked.isEmpty() ? null : parked;
+        }));
+        waiters.compute(bookingId, (id, parked) -> {
+            Set<DeferredResult<BookingStatusDTO>> updated = parked != null ? parked : ConcurrentHashMap.newKeySet();
+            updated.add(result);
+            return updated;
+        });
+
+        // The status may have changed before the request was parked
+        BookingStatusDTO latest = status(userId, bookingId);
+        if (latest.status() != knownStatus) {
+            result.setResult(latest);
+        }
+        return result;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        UUID bookingId;
+        try {
+            bookingId = RedisBookingStatusStore.bookingIdOf(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed booking status message", e);
+            return;
+        }
+        Set<DeferredResult<BookingStatusDTO>> parked = waiters.remove(bookingId);
+        if (parked == null) {
+            return;
+        }
+        statusStore.find(bookingId)
+                .map(BookingStatusService::toDto)
+                .ifPresent(status -> parked.forEach(result -> result.setResult(status)));
+    }
+
+    private void record(UUID bookingId, UUID userId, UUID eventId, BookingStatus status, String reason) {
+        try {
+            statusStore.update(bookingId, userId, eventId, status, reason);
+        } catch (RuntimeException e) {
+            // The booking itself is unaffected; clients then learn the outcome from the notification
+            log.warn("Failed to record status {} of booking {}", status, bookingId, e);
+        }
+    }
+
+    private static BookingStatusDTO toDto(RedisBookingStatusStore.Snapshot snapshot) {
+        return new BookingStatusDTO(snapshot.bookingId(), snapshot.eventId(), snapshot.status(), snapshot.reason(),
+                snapshot.updatedAt());
+    }
+}
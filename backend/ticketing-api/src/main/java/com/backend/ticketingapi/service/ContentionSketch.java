@@ -0,0 +1,87 @@
+package com.backend.ticketingapi.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounded-memory heavy-hitter tracker: a count-min sketch estimating how often
+ * each key was seen, plus the top-K keys by estimate.
+ *
+ * Memory is fixed (depth * width counters plus K entries) no matter how many
+ * distinct keys are fed. Estimates never undercount; they may overcount by
+ * roughly total / width. Not thread-safe; callers synchronize.
+ */
+class ContentionSketch {
+
+    private final int width;
+    private final long[][] counters;
+    private final int[] seeds;
+    private final int topK;
+    private final Map<String, Long> top = new HashMap<>();
+
+    ContentionSketch(int depth, int width, int topK) {
+        this.width = width;
+        this.counters = new long[depth][width];
+        this.seeds = new int[depth];
+        for (int i = 0; i < depth; i++) {
+            seeds[i] = ThreadLocalRandom.current().nextInt() | 1;
+        }
+        this.topK = topK;
+    }
+
+    /**
+     * Counts one occurrence of the key.
+     */
+    void add(String key) {
+        long estimate = Long.MAX_VALUE;
+        int hash = key.hashCode();
+        for (int row = 0; row < counters.length; row++) {
+            int column = bucketOf(hash, seeds[row]);
+            estimate = Math.min(estimate, ++counters[row][column]);
+        }
+
+        if (top.containsKey(key) || top.size() < topK) {
+            top.put(key, estimate);
+            return;
+        }
+        Map.Entry<String, Long> weakest = top.entrySet().stream()
+                .min(Map.Entry.comparingByValue())
+                .orElseThrow();
+        if (estimate > weakest.getValue()) {
+            top.remove(weakest.getKey());
+            top.put(key, estimate);
+        }
+    }
+
+    /**
+     * Halves every count so the ranking follows recent contention.
+     */
+    void decay() {
+        for (long[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>= 1;
+            }
+        }
+        top.replaceAll((key, count) -> count >> 1);
+        top.values().removeIf(count -> count == 0);
+    }
+
+    /**
+     * Most frequent keys, highest estimate first.
+     */
+    List<Map.Entry<String, Long>> top(int limit) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(top.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        return entries.subList(0, Math.min(limit, entries.size()));
+    }
+
+    private int bucketOf(int hash, int seed) {
+        int mixed = hash * seed;
+        mixed ^= mixed >>> 16;
+        return Math.floorMod(mixed, width);
+    }
+}
@@ -0,0 +1,150 @@
+package com.backend.ticketingapi.service;
+
+import com.backend.shared.exceptions.SalesPausedException;
+import com.backend.shared.exceptions.SoldOutException;
+import com.backend.shared.inventory.EventFlags;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the sold-out, paused and queued flags of every event, so
+ * requests for events that are not on sale are rejected, and the registration
+ * mode is chosen, without any Redis or RabbitMQ call.
+ *
+ * The flags live in Redis (see {@link EventFlags}); changes arrive on the
+ * event_flags pub/sub channel. Pub/sub does not redeliver, so the full sets
+ * are also reloaded at startup and every seating.flags.resync-ms.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventAvailabilityFlags implements MessageListener {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final Set<UUID> soldOut = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> paused = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> queued = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @throws SalesPausedException if sales for the event are paused
+     * @throws SoldOutException     if the event is sold out
+     */
+    public void checkOnSale(UUID eventId, int requestedSeats) {
+        if (paused.contains(eventId)) {
+            throw new SalesPausedException(eventId);
+        }
+        if (soldOut.contains(eventId)) {
+            throw new SoldOutException(eventId, requestedSeats, 0);
+        }
+    }
+
+    /**
+     * Whether registrations for the event go through the queue.
+     */
+    public boolean isQueued(UUID eventId) {
+        return queued.contains(eventId);
+    }
+
+    public Set<UUID> queuedEvents() {
+        return Set.copyOf(queued);
+    }
+
+    /**
+     * Switches the event's registration mode for every node.
+     *
+     * @return whether the mode changed
+     */
+    public boolean setQueued(UUID eventId, boolean enabled) {
+        Long changed = enabled
+                ? redisTemplate.opsForSet().add(EventFlags.QUEUED_KEY, eventId.toString())
+                : redisTemplate.opsForSet().remove(EventFlags.QUEUED_KEY, eventId.toString());
+        if (enabled) {
+            queued.add(eventId);
+        } else {
+            queued.remove(eventId);
+        }
+        if (changed == null || changed == 0) {
+            return false;
+        }
+        redisTemplate.convertAndSend(EventFlags.CHANNEL,
+                EventFlags.message(EventFlags.QUEUED, eventId.toString(), enabled));
+        return true;
+    }
+
+    public void pause(UUID eventId) {
+        redisTemplate.opsForSet().add(EventFlags.PAUSED_KEY, eventId.toString());
+        paused.add(eventId);
+        redisTemplate.convertAndSend(EventFlags.CHANNEL, EventFlags.message(EventFlags.PAUSED, eventId.toString(), true));
+        log.info("Sales paused for event {}", eventId);
+    }
+
+    public void resume(UUID eventId) {
+        redisTemplate.opsForSet().remove(EventFlags.PAUSED_KEY, eventId.toString());
+        paused.remove(eventId);
+        redisTemplate.convertAndSend(EventFlags.CHANNEL, EventFlags.message(EventFlags.PAUSED, eventId.toString(), false));
+        log.info("Sales resumed for event {}", eventId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+        if (parts.length != 3) {
+            return;
+        }
+        Set<UUID> flagged = switch (parts[0]) {
+            case EventFlags.SOLD_OUT -> soldOut;
+            case EventFlags.PAUSED -> paused;
+            case EventFlags.QUEUED -> queued;
+            default -> null;
+        };
+        if (flagged == null) {
+            return;
+        }
+        try {
+            UUID eventId = UUID.fromString(parts[1]);
+            if ("1".equals(parts[2])) {
+                flagged.add(eventId);
+            } else {
+                flagged.remove(eventId);
+            }
+            log.debug("Event {} flag {} set to {}", eventId, parts[0], parts[2]);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed event flag message {}", String.join(":", parts));
+        }
+    }
+
+    /**
+     * Reloads every flag set from Redis. Also runs once at startup.
+     */
+    @Scheduled(fixedDelayString = "${seating.flags.resync-ms:30000}")
+    public void reload() {
+        try {
+            replace(soldOut, EventFlags.SOLD_OUT_KEY);
+            replace(paused, EventFlags.PAUSED_KEY);
+            replace(queued, EventFlags.QUEUED_KEY);
+        } catch (RuntimeException e) {
+            log.error("Failed to reload event flags, keeping the current ones", e);
+        }
+    }
+
+    private void replace(Set<UUID> flagged, String key) {
+        Set<Object> members = redisTemplate.opsForSet().members(key);
+        Set<UUID> current = members == null ? Set.of() : members.stream()
+                .map(member -> UUID.fromString(member.toString()))
+                .collect(Collectors.toSet());
+        flagged.addAll(current);
+        flagged.retainAll(current);
+    }
+}
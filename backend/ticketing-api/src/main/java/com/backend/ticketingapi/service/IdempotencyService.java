@@ -0,0 +1,144 @@
+package com.backend.ticketingapi.service;
+
+import com.backend.shared.enums.RegistrationMode;
+import com.backend.shared.exceptions.IdempotencyKeyReusedException;
+import com.backend.shared.exceptions.RequestInProgressException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for registration requests.
+ *
+ * The first request with a key claims idempotency:{userId}:{key} with a short
+ * PENDING marker (SET NX), runs, and then replaces the marker with the booking
+ * ID and registration mode it produced for registration.idempotency.ttl-ms.
+ * Retries with the same key get that booking ID and mode back without locking
+ * seats or enqueueing again, even if the event has changed mode since. Keys are
+ * scoped per user and bound to the request they were first used with. A
+ * failed request drops its marker, so the client can retry with the same key.
+ * Completed keys can be looked up on their own ({@link #findCompleted}), so a
+ * retry still gets its booking back once the event has sold out or paused.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final String PENDING = "PENDING";
+    private static final String DONE = "DONE";
+    private static final String SEPARATOR = "|";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Duration ttl;
+    private final Duration pendingTtl;
+
+    public IdempotencyService(RedisTemplate<String, Object> redisTemplate,
+            @Value("${registration.idempotency.ttl-ms:86400000}") long ttlMs,
+            @Value("${registration.idempotency.pending-ttl-ms:30000}") long pendingTtlMs) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.pendingTtl = Duration.ofMillis(pendingTtlMs);
+    }
+
+    /**
+     * Outcome of an idempotent registration.
+     *
+     * @param bookingId Booking ID of the original request
+     * @param mode      How the original request was handled
+     * @param replayed  Whether it was returned from an earlier request with the same key
+     */
+    public record Result(UUID bookingId, RegistrationMode mode, boolean replayed) {
+    }
+
+    /**
+     * Looks up the booking an earlier request with the same key completed.
+     * A single GET, and none at all when no key is given.
+     *
+     * @param mode Mode the request would run in now, assumed for records that do not store one
+     * @return the replayed result, or empty if the key is unused or still pending
+     * @throws IdempotencyKeyReusedException if the key was used for a different request
+     */
+    public Optional<Result> findCompleted(UUID userId, String idempotencyKey, String operation,
+            RegistrationMode mode, UUID eventId, List<String> seatIdentifiers) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return Optional.empty();
+        }
+        Object stored = redisTemplate.opsForValue().get(KEY_PREFIX + userId + ":" + idempotencyKey);
+        if (stored == null || stored.toString().startsWith(PENDING + SEPARATOR)) {
+            // Unused or in progress: execute() claims the key or reports the conflict
+            return Optional.empty();
+        }
+        return Optional.of(replay(stored, idempotencyKey, fingerprint(operation, eventId, seatIdentifiers), mode));
+    }
+
+    /**
+     * Runs the registration once per idempotency key, or always when no key is given.
+     *
+     * @param operation Name of the endpoint, part of the request fingerprint
+     * @param mode      Mode the registration runs in, stored for replays
+     * @throws RequestInProgressException    if the original request has not finished yet
+     * @throws IdempotencyKeyReusedException if the key was used for a different request
+     */
+    public Result execute(UUID userId, String idempotencyKey, String operation, RegistrationMode mode,
+            UUID eventId, List<String> seatIdentifiers, Supplier<UUID> registration) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return new Result(registration.get(), mode, false);
+        }
+
+        String key = KEY_PREFIX + userId + ":" + idempotencyKey;
+        String fingerprint = fingerprint(operation, eventId, seatIdentifiers);
+
+        Boolean claimed = redisTemplate.opsForValue().setIfAbsent(key, PENDING + SEPARATOR + fingerprint, pendingTtl);
+        if (!Boolean.TRUE.equals(claimed)) {
+            return replay(key, idempotencyKey, fingerprint, mode);
+        }
+
+        UUID bookingId;
+        try {
+            bookingId = registration.get();
+        } catch (RuntimeException e) {
+            redisTemplate.delete(key);
+            throw e;
+        }
+        redisTemplate.opsForValue().set(key,
+                DONE + SEPARATOR + fingerprint + SEPARATOR + bookingId + SEPARATOR + mode, ttl);
+        return new Result(bookingId, mode, false);
+    }
+
+    private Result replay(String key, String idempotencyKey, String fingerprint, RegistrationMode mode) {
+        Object stored = redisTemplate.opsForValue().get(key);
+        if (stored == null) {
+            // The original request failed or its marker just expired
+            throw new RequestInProgressException(idempotencyKey);
+        }
+        return replay(stored, idempotencyKey, fingerprint, mode);
+    }
+
+    private Result replay(Object stored, String idempotencyKey, String fingerprint, RegistrationMode mode) {
+        String[] parts = stored.toString().split("\\" + SEPARATOR);
+        if (!fingerprint.equals(parts[1])) {
+            throw new IdempotencyKeyReusedException(idempotencyKey);
+        }
+        if (PENDING.equals(parts[0])) {
+            throw new RequestInProgressException(idempotencyKey);
+        }
+        log.info("Replaying booking {} for idempotency key {}", parts[2], idempotencyKey);
+        // Records written before the mode was stored replay in the current mode
+        RegistrationMode originalMode = parts.length > 3 ? RegistrationMode.valueOf(parts[3]) : mode;
+        return new Result(UUID.fromString(parts[2]), originalMode, true);
+    }
+
+    private static String fingerprint(String operation, UUID eventId, List<String> seatIdentifiers) {
+        String request = operation + SEPARATOR + eventId + SEPARATOR + String.join(",", seatIdentifiers);
+        return UUID.nameUUIDFromBytes(request.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+}
@@ -0,0 +1,33 @@
+package com.backend.ticketingapi.service;
+
+import com.backend.shared.seating.InMemorySeatLockStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Expiry handling for the in-memory seat lock store: evicts expired locks and
+ * releases them per event, like SeatLockExpiryListener does for Redis.
+ */
+@Component
+@ConditionalOnProperty(name = "seating.lock.store", havingValue = "memory")
+@RequiredArgsConstructor
+@Slf4j
+public class InMemorySeatLockExpirySweeper {
+
+    private final InMemorySeatLockStore seatLockStore;
+    private final SeatLockService seatLockService;
+
+    @Scheduled(fixedDelayString = "${seating.lock.expiry.batch-ms:100}")
+    public void releaseExpiredSeats() {
+        seatLockStore.evictExpired().forEach((eventId, seats) -> {
+            try {
+                seatLockService.releaseExpiredSeats(eventId, seats);
+            } catch (Exception e) {
+                log.error("Failed to release expired seats {} for event {}", seats, eventId, e);
+            }
+        });
+    }
+}
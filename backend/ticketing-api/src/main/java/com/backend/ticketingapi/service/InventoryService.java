@@ -0,0 +1,102 @@
+package com.backend.ticketingapi.service;
+
+import com.backend.shared.exceptions.ResourceNotFoundException;
+import com.backend.shared.exceptions.SoldOutException;
+import com.backend.shared.inventory.RedisInventoryCounter;
+import com.backend.ticketingapi.config.SeatLockProperties;
+import com.backend.ticketingapi.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remaining-inventory pre-check for registrations.
+ *
+ * Each booking, direct or queued, reserves its seat count from the event's counter before
+ * anything else happens, so once an event is sold out requests are rejected
+ * synchronously instead of flowing through RabbitMQ and the workers. The
+ * counter is a fast filter, not the source of truth: seat locks still decide
+ * who gets which seat.
+ *
+ * Queued reservations are confirmed or released by the registration worker;
+ * ones that are never settled (lost commands, direct bookings whose hold
+ * ran out) are given back after the event's
+ * maximum hold time plus seating.inventory.reservation-grace-ms.
+ */
+@Service
+@Slf4j
+public class InventoryService {
+
+    private final RedisInventoryCounter inventoryCounter;
+    private final EventRepository eventRepository;
+    private final SeatLockProperties seatLockProperties;
+    private final long reservationGraceMs;
+
+    // Capacity is only read to initialise a counter, and does not change once on sale
+    private final Map<UUID, Integer> capacities = new ConcurrentHashMap<>();
+
+    public InventoryService(RedisInventoryCounter inventoryCounter,
+            EventRepository eventRepository,
+            SeatLockProperties seatLockProperties,
+            @Value("${seating.inventory.reservation-grace-ms:60000}") long reservationGraceMs) {
+        this.inventoryCounter = inventoryCounter;
+        this.eventRepository = eventRepository;
+        this.seatLockProperties = seatLockProperties;
+        this.reservationGraceMs = reservationGraceMs;
+    }
+
+    /**
+     * Reserves inventory for the seats of a booking. Seats the user already
+     * reserved (e.g. through an earlier booking) take no further inventory.
+     *
+     * @return the seats newly reserved by this call, to be given back if the booking fails
+     * @throws SoldOutException if fewer seats are left than requested
+     */
+    public List<String> reserve(UUID eventId, UUID bookingId, UUID userId, List<String> seatIds) {
+        Instant deadline = Instant.now()
+                .plus(seatLockProperties.maxHoldFor(eventId))
+                .plusMillis(reservationGraceMs);
+        RedisInventoryCounter.Reservation reservation = inventoryCounter.reserve(
+                eventId, userId, seatIds, capacityOf(eventId), deadline);
+        if (!reservation.reserved()) {
+            log.info("Rejected booking {} for {} seats on event {}: {} left",
+                    bookingId, seatIds.size(), eventId, reservation.remaining());
+            throw new SoldOutException(eventId, seatIds.size(), reservation.remaining());
+        }
+        return reservation.newSeats();
+    }
+
+    /**
+     * Gives the inventory of seats the user no longer holds back.
+     */
+    public void release(UUID eventId, UUID userId, List<String> seatIds) {
+        inventoryCounter.release(eventId, userId, seatIds);
+    }
+
+    @Scheduled(fixedDelayString = "${seating.inventory.reap-ms:5000}")
+    public void releaseExpiredReservations() {
+        Instant now = Instant.now();
+        for (UUID eventId : inventoryCounter.eventsWithReservations()) {
+            try {
+                long released = inventoryCounter.releaseExpired(eventId, now);
+                if (released > 0) {
+                    log.warn("Gave back {} seats of unsettled reservations on event {}", released, eventId);
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to release expired inventory reservations for event {}", eventId, e);
+            }
+        }
+    }
+
+    private int capacityOf(UUID eventId) {
+        return capacities.computeIfAbsent(eventId, id -> eventRepository.findCapacityByEventId(id)
+                .orElseThrow(() -> new ResourceNotFoundException("EVENT_NOT_FOUND", "Event not found")));
+    }
+}
@@ -0,0 +1,183 @@
+package com.backend.ticketingapi.service;
+
+import com.backend.shared.exceptions.RateLimitExceededException;
+import com.backend.ticketingapi.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Distributed token-bucket limiter for registration requests.
+ *
+ * The authoritative bucket of each key lives in Redis (rate_limit:{scope}:{key}).
+ * Each node leases a few tokens at a time into a local bucket and spends them
+ * without further Redis calls; when Redis has none left, the node remembers
+ * until when the key is limited and rejects locally until then. Unused leased
+ * tokens are dropped after registration.rate-limit.lease-ttl-ms, so a node
+ * never holds on to capacity for long.
+ *
+ * If Redis is unreachable, requests are let through.
+ */
+@Service
+@Slf4j
+public class RateLimiter {
+
+    public static final String SCOPE_USER = "user";
+    public static final String SCOPE_IP = "ip";
+    public static final String SCOPE_EVENT = "event";
+
+    private static final String KEY_PREFIX = "rate_limit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TAKE_TOKENS =
+            RedisScript.of(new ClassPathResource("scripts/rate-limit/take_tokens.lua"), List.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, LocalBucket> localBuckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(RedisTemplate<String, Object> redisTemplate, RateLimitProperties properties,
+            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @throws RateLimitExceededException if the user or the client IP is over its limit
+     */
+    public void checkClient(String userId, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (userId != null) {
+            acquire(SCOPE_USER, userId, properties.getUser());
+        }
+        acquire(SCOPE_IP, clientIp, properties.getIp());
+    }
+
+    /**
+     * @throws RateLimitExceededException if the user is over its limit for this event
+     */
+    public void checkEvent(UUID userId, UUID eventId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        acquire(SCOPE_EVENT, eventId + ":" + userId, properties.eventBucketFor(eventId));
+    }
+
+    private void acquire(String scope, String key, RateLimitProperties.Bucket limit) {
+        String bucketKey = KEY_PREFIX + scope + ":" + key;
+        LocalBucket bucket = localBuckets.computeIfAbsent(bucketKey,
+                k -> new LocalBucket(Duration.ofMillis(properties.getLeaseTtlMs())));
+
+        long waitNanos;
+        synchronized (bucket) {
+            waitNanos = bucket.take(System.nanoTime(), () -> lease(scope, bucketKey, limit));
+        }
+        if (waitNanos > 0) {
+            decision(scope, "limited").increment();
+            throw new RateLimitExceededException(Duration.ofNanos(waitNanos));
+        }
+        decision(scope, "allowed").increment();
+    }
+
+    /**
+     * Takes up to a lease of tokens from the shared bucket.
+     */
+    private Lease lease(String scope, String bucketKey, RateLimitProperties.Bucket limit) {
+        meterRegistry.counter("registration.rate.limit.leases", "scope", scope).increment();
+        try {
+            List<?> result = redisTemplate.execute(TAKE_TOKENS, List.of(bucketKey),
+                    String.valueOf(limit.getCapacity()),
+                    String.valueOf(limit.getRefillPerSecond()),
+                    String.valueOf(Math.max(1, Math.min(limit.getLeaseSize(), limit.getCapacity()))),
+                    String.valueOf(System.currentTimeMillis()));
+            if (result == null || result.size() < 2) {
+                return new Lease(1, 0);
+            }
+            return new Lease(((Number) result.get(0)).intValue(), ((Number) result.get(1)).longValue());
+        } catch (RuntimeException e) {
+            log.warn("Rate limit bucket {} unavailable, letting the request through", bucketKey, e);
+            return new Lease(1, 0);
+        }
+    }
+
+    /**
+     * Drops local buckets with nothing left to remember.
+     */
+    @Scheduled(fixedDelayString = "${registration.rate-limit.cleanup-ms:10000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        localBuckets.values().removeIf(bucket -> {
+            synchronized (bucket) {
+                return bucket.isIdle(now);
+            }
+        });
+    }
+
+    private Counter decision(String scope, String outcome) {
+        return meterRegistry.counter("registration.rate.limit.decisions", "scope", scope, "outcome", outcome);
+    }
+
+    record Lease(int granted, long waitMs) {
+    }
+
+    /**
+     * Tokens leased by this node for one key. Guarded by its own monitor.
+     */
+    static final class LocalBucket {
+        private final long leaseTtlNanos;
+        private int tokens;
+        private long leaseExpiresAt;
+        private long limitedUntil;
+
+        /**
+         * @param leaseTtl How long leased tokens may be spent before they are dropped
+         */
+        LocalBucket(Duration leaseTtl) {
+            this.leaseTtlNanos = leaseTtl.toNanos();
+        }
+
+        /**
+         * @return 0 if a token was taken, otherwise the nanoseconds to wait
+         */
+        long take(long now, Supplier<Lease> leaser) {
+            if (now - limitedUntil < 0) {
+                return limitedUntil - now;
+            }
+            if (tokens > 0 && now - leaseExpiresAt < 0) {
+                tokens--;
+                return 0;
+            }
+
+            Lease lease = leaser.get();
+            if (lease.granted() <= 0) {
+                tokens = 0;
+                limitedUntil = now + Duration.ofMillis(Math.max(1, lease.waitMs())).toNanos();
+                return limitedUntil - now;
+            }
+            tokens = lease.granted() - 1;
+            leaseExpiresAt = now + leaseTtlNanos;
+            return 0;
+        }
+
+        boolean isIdle(long now) {
+            return now - limitedUntil >= 0 && (tokens == 0 || now - leaseExpiresAt >= 0);
+        }
+    }
+}
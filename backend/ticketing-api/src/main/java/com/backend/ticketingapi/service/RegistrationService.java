@@ -1,10 +1,16 @@
 package com.backend.ticketingapi.service;
 
+import com.backend.shared.enums.BookingPriority;
 import com.backend.shared.enums.BookingStatus;
+import com.backend.shared.exceptions.ResourceNotFoundException;
+import com.backend.shared.exceptions.SeatLockExpiredException;
+import com.backend.shared.exceptions.SoldOutException;
 import com.backend.shared.messaging.commands.ProcessBookingCommand;
 import com.backend.shared.util.IdGenerator;
 import com.backend.ticketingapi.domain.event.Event;
 import com.backend.ticketingapi.domain.user.User;
+import com.backend.ticketingapi.config.SeatLockProperties;
+import com.backend.ticketingapi.dto.LockExtensionDTO;
 import com.backend.ticketingapi.dto.request.CreateEventRequest;
 import com.backend.ticketingapi.messaging.RegistrationPublisher;
 import lombok.RequiredArgsConstructor;
@@ -12,7 +18,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -22,25 +31,50 @@ public class RegistrationService {
 
     private final SeatLockService seatLockService;
     private final RegistrationPublisher registrationPublisher;
+    private final BookingHoldService bookingHoldService;
+    private final SeatLockProperties seatLockProperties;
+    private final InventoryService inventoryService;
+    private final BookingStatusService bookingStatusService;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
     // We would need a BookingRepository here to save the initial PENDING booking
     // private final BookingRepository bookingRepository;
 
     /**
      * Handles Simple Registration (Direct Seat Locking).
      * Used for low-demand events or direct purchases.
+     * Reserves inventory like the queued path, so the counter (and the sold-out
+     * flag) reflects direct bookings too. Reservations are per user and seat,
+     * so re-locking seats the user already holds does not reserve them twice.
+     * Nothing confirms a direct reservation yet, so it is given back with its
+     * locks once the event's max hold passes.
+     *
+     * @throws SoldOutException if fewer seats are left than requested
      */
     @Transactional
     public UUID registerSimple(UUID userId, UUID eventId, List<String> seatIdentifiers) {
         log.info("Starting simple registration for user {} on event {}", userId, eventId);
 
-        // 1. Lock Seats in Redis (Fail fast if already taken)
-        seatLockService.lockSeats(eventId, seatIdentifiers, userId);
-
-        // 2. Create PENDING Booking in DB (Skipping DB implementation for this step as
+        // Create PENDING Booking in DB (Skipping DB implementation for this step as
         // repository not created yet)
         // Booking booking = new Booking(); ... save(booking);
         UUID bookingId = IdGenerator.generate(); // Placeholder
 
+        // 1. Reserve inventory (Fail fast if sold out)
+        List<String> reservedSeats = inventoryService.reserve(eventId, bookingId, userId, seatIdentifiers);
+
+        // 2. Lock Seats in Redis (Fail fast if already taken)
+        try {
+            seatLockService.lockSeats(eventId, seatIdentifiers, userId);
+        } catch (RuntimeException e) {
+            inventoryService.release(eventId, userId, reservedSeats);
+            throw e;
+        }
+
+        // Remember the held seats so the client can extend the lease by booking ID
+        bookingHoldService.save(
+                new BookingHoldService.BookingHold(bookingId, userId, eventId, seatIdentifiers, Instant.now()),
+                seatLockProperties.maxHoldFor(eventId));
+
         // 3. (Optional) Publish event or return success for payment diversion
         log.info("Seats locked successfully. Proceed to payment for booking {}", bookingId);
 
@@ -49,25 +83,102 @@ public class RegistrationService {
 
     /**
      * Handles Queued Registration.
-     * Pushes the request to RabbitMQ for async processing.
+     * Reserves inventory and locks the seats, then pushes the request to RabbitMQ
+     * for async processing. Sold-out events are rejected here, before any message
+     * is sent. The command carries the fencing tokens of the locks, so a worker
+     * that picks it up after the locks expired (and were possibly re-taken)
+     * rejects it; with the event's seat layout, it marks the seats BOOKED in
+     * the availability index once confirmed. The booking's status is PENDING until the worker decides it
+     * (see BookingStatusService).
+     *
+     * @param priority Tier of the user; higher tiers are processed first
+     * @throws SoldOutException if fewer seats are left than requested
      */
-    public UUID registerViaQueue(UUID userId, UUID eventId, List<String> seatIdentifiers) {
+    public UUID registerViaQueue(UUID userId, UUID eventId, List<String> seatIdentifiers, BookingPriority priority) {
         log.info("Queueing registration for user {} on event {}", userId, eventId);
 
         UUID bookingId = IdGenerator.generate();
 
-        // Create Command
+        // 1. Reserve inventory (Fail fast if sold out)
+        List<String> reservedSeats = inventoryService.reserve(eventId, bookingId, userId, seatIdentifiers);
+
+        // 2. Lock Seats in Redis (Fail fast if already taken)
+        Map<String, Long> fencingTokens;
+        try {
+            fencingTokens = seatLockService.lockSeats(eventId, seatIdentifiers, userId);
+        } catch (RuntimeException e) {
+            inventoryService.release(eventId, userId, reservedSeats);
+            throw e;
+        }
+
+        bookingHoldService.save(
+                new BookingHoldService.BookingHold(bookingId, userId, eventId, seatIdentifiers, Instant.now()),
+                seatLockProperties.maxHoldFor(eventId));
+
+        // 3. Create Command
         ProcessBookingCommand command = new ProcessBookingCommand(
                 bookingId,
                 userId,
                 eventId,
                 seatIdentifiers,
-                true // fromQueue
-        );
+                true, // fromQueue
+                fencingTokens,
+                priority,
+                seatAvailabilityIndex.layoutOf(eventId).orElse(null));
 
-        // Publish to RabbitMQ
-        registrationPublisher.publishRegistrationRequest(command);
+        // 4. Publish to RabbitMQ, giving the seats back if the request cannot be queued
+        bookingStatusService.recordQueued(bookingId, userId, eventId);
+        try {
+            registrationPublisher.publishRegistrationRequest(command);
+        } catch (RuntimeException e) {
+            log.error("Failed to queue booking {}, releasing its seats", bookingId, e);
+            List<String> releasedSeats = seatLockService.unlockSeats(eventId, seatIdentifiers, userId);
+            inventoryService.release(eventId, userId, releasedSeats);
+            bookingStatusService.recordFailed(bookingId, userId, eventId, "Could not be queued");
+            throw e;
+        }
 
         return bookingId;
     }
+
+    /**
+     * Releases seats the user still holds, e.g. when leaving checkout.
+     *
+     * @return the seats that were actually released
+     */
+    public List<String> releaseSeats(UUID userId, UUID eventId, List<String> seatIdentifiers) {
+        log.info("Releasing seats {} for user {} on event {}", seatIdentifiers, userId, eventId);
+        return seatLockService.unlockSeats(eventId, seatIdentifiers, userId);
+    }
+
+    /**
+     * Extends the seat locks of a booking (checkout heartbeat).
+     * Each call resets the locks to seating.lock.ttl, but never past the
+     * event's maximum hold time counted from the first lock.
+     *
+     * @throws ResourceNotFoundException if the caller holds no seats for the booking
+     * @throws SeatLockExpiredException  if the locks expired or the maximum hold time was reached
+     */
+    public LockExtensionDTO extendBooking(UUID userId, UUID bookingId) {
+        BookingHoldService.BookingHold hold = bookingHoldService.find(bookingId)
+                .filter(h -> h.userId().equals(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("BOOKING_NOT_FOUND", "No seats are held for this booking"));
+
+        Instant now = Instant.now();
+        Instant maxHoldUntil = hold.lockedAt().plus(seatLockProperties.maxHoldFor(hold.eventId()));
+        if (!now.isBefore(maxHoldUntil)) {
+            throw new SeatLockExpiredException("Maximum hold time reached for booking " + bookingId
+                    + ". Please select seats again.");
+        }
+
+        Duration remaining = Duration.between(now, maxHoldUntil);
+        Duration ttl = seatLockProperties.getTtl().compareTo(remaining) < 0 ? seatLockProperties.getTtl() : remaining;
+
+        List<String> extendedSeats = seatLockService.extendSeats(hold.eventId(), hold.seatIds(), userId, ttl);
+        if (extendedSeats.isEmpty()) {
+            throw new SeatLockExpiredException("Locks for booking " + bookingId
+                    + " have expired. Please select seats again.");
+        }
+        return new LockExtensionDTO(bookingId, extendedSeats, now.plus(ttl), maxHoldUntil);
+    }
 }
@@ -0,0 +1,122 @@
+package com.backend.ticketingapi.service;
+
+import com.backend.shared.exceptions.ResourceNotFoundException;
+import com.backend.shared.exceptions.SeatMapNotIndexedException;
+import com.backend.shared.seating.SeatLayout;
+import com.backend.shared.seating.SeatLockStore;
+import com.backend.shared.seating.SeatMapState;
+import com.backend.ticketingapi.dto.SeatMapSnapshotDTO;
+import com.backend.ticketingapi.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Per-event seat availability index for procedural venues.
+ *
+ * Each event gets a 2-bit status per seat (SeatStatus ordinals), addressed by
+ * the row-major seat index of the venue grid and maintained by the
+ * SeatLockStore in the same call that takes or releases the locks. A full
+ * snapshot of a 300-seat theatre is a single read of 75 bytes.
+ *
+ * Every change to the seat map of an event increments its version counter,
+ * which stamps both snapshots and the WebSocket deltas.
+ */
+@Service
+@Slf4j
+public class SeatAvailabilityIndex {
+
+    private final SeatLockStore seatLockStore;
+    private final EventRepository eventRepository;
+
+    // Venue grids do not change once an event is scheduled. Non-procedural venues
+    // are cached as empty, so lock paths never query the database for them again;
+    // the least recently used event is dropped beyond seating.layout.max-cached-events.
+    private final Map<UUID, Optional<SeatLayout>> layouts;
+
+    public SeatAvailabilityIndex(SeatLockStore seatLockStore,
+            EventRepository eventRepository,
+            @Value("${seating.layout.max-cached-events:10000}") int maxCachedEvents) {
+        this.seatLockStore = seatLockStore;
+        this.eventRepository = eventRepository;
+        this.layouts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Optional<SeatLayout>> eldest) {
+                return size() > maxCachedEvents;
+            }
+        };
+    }
+
+    /**
+     * Returns the seat grid of the event's venue, if the venue is procedural.
+     */
+    public Optional<SeatLayout> layoutOf(UUID eventId) {
+        Optional<SeatLayout> cached;
+        synchronized (layouts) {
+            cached = layouts.get(eventId);
+        }
+        if (cached != null) {
+            return cached;
+        }
+
+        Optional<SeatLayout> layout = eventRepository.findVenueByEventId(eventId)
+                .filter(venue -> venue.getRowCount() != null && venue.getColCount() != null)
+                .filter(venue -> venue.getRowCount() > 0 && venue.getColCount() > 0)
+                .map(venue -> new SeatLayout(venue.getRowCount(), venue.getColCount()));
+        // Unknown events are not cached: they may be created later
+        if (layout.isPresent() || eventRepository.existsById(eventId)) {
+            synchronized (layouts) {
+                layouts.put(eventId, layout);
+            }
+        }
+        return layout;
+    }
+
+    /**
+     * Reads the index and version of an event together.
+     *
+     * @throws ResourceNotFoundException  if the event does not exist
+     * @throws SeatMapNotIndexedException if the event's venue is not procedural: without an
+     *                                    index, an empty snapshot would read as "all available"
+     */
+    public SeatMapSnapshotDTO snapshot(UUID eventId) {
+        Optional<SeatLayout> layout = layoutOf(eventId);
+        if (layout.isEmpty()) {
+            if (!eventRepository.existsById(eventId)) {
+                throw new ResourceNotFoundException("EVENT_NOT_FOUND", "Event not found");
+            }
+            throw new SeatMapNotIndexedException(eventId);
+        }
+
+        SeatMapState state = seatLockStore.readSeatMap(eventId);
+        SeatLayout grid = layout.get();
+        List<String> lockedSeats = new ArrayList<>();
+        List<String> bookedSeats = new ArrayList<>();
+        int indexedSeats = Math.min(grid.size(), state.indexedSeats());
+        for (int seat = 0; seat < indexedSeats; seat++) {
+            switch (state.statusAt(seat)) {
+                case LOCKED -> lockedSeats.add(grid.labelOf(seat));
+                case BOOKED -> bookedSeats.add(grid.labelOf(seat));
+                default -> {
+                }
+            }
+        }
+
+        return new SeatMapSnapshotDTO(
+                eventId,
+                state.version(),
+                grid.rows(),
+                grid.cols(),
+                Base64.getEncoder().encodeToString(state.index()),
+                lockedSeats,
+                bookedSeats);
+    }
+}
@@ -0,0 +1,114 @@
+package com.backend.ticketingapi.service;
+
+import com.backend.ticketingapi.dto.SeatContentionDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tracks which seats and sections of an event cause the most lock conflicts.
+ *
+ * Every conflicting seat of a rejected lock attempt is fed into a per-event
+ * count-min + top-K sketch, for seats and for their section (the seat label
+ * without its trailing seat number, e.g. row "C" for "C12"). Counts are halved
+ * every seating.contention.decay-ms so the ranking reflects recent traffic.
+ * At most seating.contention.max-events events are tracked; the least
+ * recently contended one is dropped first.
+ */
+@Service
+public class SeatContentionTracker {
+
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 1024;
+
+    private final int topK;
+    private final Map<UUID, EventContention> events;
+
+    public SeatContentionTracker(
+            @Value("${seating.contention.top-k:20}") int topK,
+            @Value("${seating.contention.max-events:100}") int maxEvents) {
+        this.topK = topK;
+        this.events = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, EventContention> eldest) {
+                return size() > maxEvents;
+            }
+        };
+    }
+
+    public void recordConflicts(UUID eventId, List<String> conflictingSeats) {
+        EventContention contention;
+        synchronized (events) {
+            contention = events.computeIfAbsent(eventId, id -> new EventContention(
+                    new ContentionSketch(SKETCH_DEPTH, SKETCH_WIDTH, topK),
+                    new ContentionSketch(SKETCH_DEPTH, SKETCH_WIDTH, topK)));
+        }
+        synchronized (contention) {
+            for (String seatId : conflictingSeats) {
+                contention.seats().add(seatId);
+                contention.sections().add(sectionOf(seatId));
+            }
+        }
+    }
+
+    /**
+     * Most contended seats and sections of an event, highest first.
+     */
+    public SeatContentionDTO getContention(UUID eventId, int limit) {
+        EventContention contention;
+        synchronized (events) {
+            contention = events.get(eventId);
+        }
+        if (contention == null) {
+            return new SeatContentionDTO(eventId, List.of(), List.of());
+        }
+        synchronized (contention) {
+            return new SeatContentionDTO(eventId,
+                    toHotSpots(contention.seats().top(limit)),
+                    toHotSpots(contention.sections().top(limit)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${seating.contention.decay-ms:60000}")
+    public void decay() {
+        List<EventContention> tracked;
+        synchronized (events) {
+            tracked = List.copyOf(events.values());
+        }
+        for (EventContention contention : tracked) {
+            synchronized (contention) {
+                contention.seats().decay();
+                contention.sections().decay();
+            }
+        }
+    }
+
+    /**
+     * Seat label without its trailing seat number and separators ("C12" -> "C",
+     * "S101-R5-12" -> "S101-R5"). Labels without such a number are their own section.
+     */
+    static String sectionOf(String seatId) {
+        int end = seatId.length();
+        while (end > 0 && Character.isDigit(seatId.charAt(end - 1))) {
+            end--;
+        }
+        while (end > 0 && "-_:/ ".indexOf(seatId.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        return end == 0 || end == seatId.length() ? seatId : seatId.substring(0, end);
+    }
+
+    private static List<SeatContentionDTO.HotSpot> toHotSpots(List<Map.Entry<String, Long>> entries) {
+        return entries.stream()
+                .map(entry -> new SeatContentionDTO.HotSpot(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private record EventContention(ContentionSketch seats, ContentionSketch sections) {
+    }
+}
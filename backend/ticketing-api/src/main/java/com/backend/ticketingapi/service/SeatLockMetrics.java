@@ -0,0 +1,103 @@
+package com.backend.ticketingapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Micrometer meters of the seat lock hot path, exposed through /actuator/metrics.
+ *
+ * Meters are tagged by event. To keep tag cardinality bounded, only the first
+ * seating.metrics.max-tagged-events events get their own tag value; every
+ * other event is reported under event=other.
+ */
+@Component
+public class SeatLockMetrics {
+
+    static final String OUTCOME_ACQUIRED = "acquired";
+    static final String OUTCOME_CONFLICT = "conflict";
+    static final String RELEASE_UNLOCKED = "unlocked";
+    static final String RELEASE_EXPIRED = "expired";
+
+    private static final String OTHER_EVENTS = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxTaggedEvents;
+    private final Set<UUID> taggedEvents = ConcurrentHashMap.newKeySet();
+
+    public SeatLockMetrics(MeterRegistry meterRegistry,
+            @Value("${seating.metrics.max-tagged-events:50}") int maxTaggedEvents) {
+        this.meterRegistry = meterRegistry;
+        this.maxTaggedEvents = maxTaggedEvents;
+    }
+
+    public Timer.Sample startAcquire() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Records a lock attempt: latency, seats per request and, on conflict, the
+     * conflicting seats and the all-or-nothing rollback.
+     */
+    public void recordAcquire(Timer.Sample sample, UUID eventId, int requestedSeats, int conflictingSeats) {
+        String event = eventTag(eventId);
+        String outcome = conflictingSeats > 0 ? OUTCOME_CONFLICT : OUTCOME_ACQUIRED;
+
+        sample.stop(Timer.builder("seat.lock.acquire")
+                .description("Seat lock acquisition latency")
+                .tags("event", event, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+
+        DistributionSummary.builder("seat.lock.seats.per.request")
+                .description("Seats requested per lock attempt")
+                .tag("event", event)
+                .register(meterRegistry)
+                .record(requestedSeats);
+
+        if (conflictingSeats > 0) {
+            Counter.builder("seat.lock.conflicts")
+                    .description("Seats already held by someone else")
+                    .tag("event", event)
+                    .register(meterRegistry)
+                    .increment(conflictingSeats);
+            Counter.builder("seat.lock.rollbacks")
+                    .description("Lock attempts rejected as a whole because of a conflict")
+                    .tag("event", event)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    /**
+     * Records seats returned to the pool, by reason (unlocked or expired).
+     */
+    public void recordRelease(UUID eventId, String reason, int releasedSeats) {
+        if (releasedSeats == 0) {
+            return;
+        }
+        Counter.builder("seat.unlock.seats")
+                .description("Seats released back to the pool")
+                .tags("event", eventTag(eventId), "reason", reason)
+                .register(meterRegistry)
+                .increment(releasedSeats);
+    }
+
+    private String eventTag(UUID eventId) {
+        if (taggedEvents.contains(eventId)) {
+            return eventId.toString();
+        }
+        // Racy by design: the limit may be overshot by a few concurrent first calls
+        if (taggedEvents.size() < maxTaggedEvents && taggedEvents.add(eventId)) {
+            return eventId.toString();
+        }
+        return OTHER_EVENTS;
+    }
+}
@@ -1,89 +1,140 @@
 package com.backend.ticketingapi.service;
 
 import com.backend.shared.exceptions.SeatAlreadyBookedException;
-import com.backend.shared.exceptions.BusinessException;
+import com.backend.shared.enums.SeatStatus;
+import com.backend.shared.seating.SeatLayout;
+import com.backend.shared.seating.SeatLockResult;
+import com.backend.shared.seating.SeatLockStore;
+import com.backend.ticketingapi.config.SeatLockProperties;
+import com.backend.ticketingapi.dto.SeatStatusUpdateDTO;
+import com.backend.ticketingapi.messaging.SeatStatusBroadcaster;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SeatLockService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final SimpMessagingTemplate messagingTemplate;
-
-    // Lock duration in seconds (e.g., 10 minutes)
-    private static final long LOCK_DURATION_SECONDS = 600;
+    private final SeatLockStore seatLockStore;
+    private final SeatStatusBroadcaster seatStatusBroadcaster;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final SeatLockProperties seatLockProperties;
+    private final SeatLockMetrics seatLockMetrics;
+    private final SeatContentionTracker seatContentionTracker;
+    private final AdaptiveRegistrationRouter adaptiveRegistrationRouter;
 
     /**
      * Locks a list of seats for a specific user and event.
-     * Uses Redis SET NX (Set if Not Exists) to ensure atomicity.
+     * All seats are checked and set in a single atomic store call, so either every
+     * seat is locked or none is, in one round trip regardless of the seat count.
+     * Seats already held by the same user are re-locked (TTL refreshed).
+     * The event's availability index is updated by the same call.
+     * Locks live for seating.lock.ttl and must be extended to be kept longer.
      *
      * @param eventId         The event ID
-     * @param seatIdentifiers List of seat IDs/labels
+     * @param seatIdentifiers List of seat IDs/labels, in canonical form (see RegistrationRequest)
      * @param userId          The user ID
+     * @return the fencing token of each locked seat
+     * @throws SeatAlreadyBookedException listing every seat held by someone else
      */
-    public void lockSeats(UUID eventId, List<String> seatIdentifiers, UUID userId) {
-        for (String seatId : seatIdentifiers) {
-            String lockKey = generateLockKey(eventId, seatId);
-            String lockValue = "locked_by_" + userId.toString();
+    public Map<String, Long> lockSeats(UUID eventId, List<String> seatIdentifiers, UUID userId) {
+        Timer.Sample sample = seatLockMetrics.startAcquire();
+        SeatLockResult result = seatLockStore.lock(
+                eventId,
+                seatIdentifiers,
+                userId,
+                lockTtl(eventId),
+                layoutOf(eventId));
+        seatLockMetrics.recordAcquire(sample, eventId, seatIdentifiers.size(), result.seatIds().size());
+        adaptiveRegistrationRouter.recordLockAttempt(eventId);
 
-            // Try to set the lock in Redis with expiration
-            Boolean success = redisTemplate.opsForValue().setIfAbsent(
-                    lockKey,
-                    lockValue,
-                    Duration.ofSeconds(LOCK_DURATION_SECONDS));
+        if (!result.seatIds().isEmpty()) {
+            log.warn("Seats {} on event {} are already locked, nothing was locked for user {}",
+                    result.seatIds(), eventId, userId);
+            seatContentionTracker.recordConflicts(eventId, result.seatIds());
+            throw new SeatAlreadyBookedException(eventId, result.seatIds());
+        }
 
-            if (Boolean.FALSE.equals(success)) {
-                // Check who holds the lock
-                String currentOwner = (String) redisTemplate.opsForValue().get(lockKey);
-                log.warn("Seat {} is already locked by {}", seatId, currentOwner);
+        // Broadcast lock event to WebSocket topic (coalesced per event)
+        seatStatusBroadcaster.publish(
+                new SeatStatusUpdateDTO(eventId, result.version(), SeatStatus.LOCKED, seatIdentifiers, userId));
+        log.info("Successfully locked {} seats for user {} on event {}", seatIdentifiers.size(), userId, eventId);
+        return result.fencingTokens();
+    }
 
-                // Rollback attempt (simple)
-                unlockSeats(eventId, seatIdentifiers, userId);
-                throw new SeatAlreadyBookedException(eventId, seatId);
-            }
+    /**
+     * Unlocks seats held by the given user.
+     * Ownership is checked and the locks removed in a single atomic store call,
+     * so seats that expired and were re-taken by someone else are left untouched.
+     *
+     * @return the seats that were actually released
+     */
+    public List<String> unlockSeats(UUID eventId, List<String> seatIdentifiers, UUID userId) {
+        SeatLockResult result = seatLockStore.unlock(eventId, seatIdentifiers, userId, layoutOf(eventId));
 
-            // Broadcast lock event to WebSocket topic
-            // Topic: /topic/events/{eventId}/seats
-            messagingTemplate.convertAndSend("/topic/events/" + eventId + "/seats",
-                    Map.of("seatId", seatId, "status", "LOCKED", "userId", userId));
+        List<String> releasedSeats = result.seatIds();
+        seatLockMetrics.recordRelease(eventId, SeatLockMetrics.RELEASE_UNLOCKED, releasedSeats.size());
+        if (!releasedSeats.isEmpty()) {
+            // Broadcast a single unlock event for every released seat
+            seatStatusBroadcaster.publish(
+                    new SeatStatusUpdateDTO(eventId, result.version(), SeatStatus.AVAILABLE, releasedSeats, null));
         }
-        log.info("Successfully locked {} seats for user {} on event {}", seatIdentifiers.size(), userId, eventId);
+        log.info("Unlocked seats {} of {} for user {} on event {}", releasedSeats, seatIdentifiers, userId, eventId);
+        return releasedSeats;
     }
 
     /**
-     * Unlocks seats.
+     * Extends the lease of the seats still held by the user.
+     * Ownership is checked and the TTL reset in a single atomic store call.
+     *
+     * @param ttl New remaining lifetime of the locks
+     * @return the seats whose lock was extended
+     */
+    public List<String> extendSeats(UUID eventId, List<String> seatIdentifiers, UUID userId, Duration ttl) {
+        List<String> extendedSeats = seatLockStore.extend(eventId, seatIdentifiers, userId, ttl).seatIds();
+        log.info("Extended locks on seats {} of {} for user {} on event {} by {}",
+                extendedSeats, seatIdentifiers, userId, eventId, ttl);
+        return extendedSeats;
+    }
+
+    /**
+     * Publishes AVAILABLE for seats whose lock TTL expired and clears them from
+     * the availability index. Seats re-locked in the meantime are skipped.
+     *
+     * @return the seats that are actually available again
      */
-    public void unlockSeats(UUID eventId, List<String> seatIdentifiers, UUID userId) {
-        for (String seatId : seatIdentifiers) {
-            String lockKey = generateLockKey(eventId, seatId);
-            // In a real production system, use a Lua script to check if the value matches
-            // userId before deleting
-            redisTemplate.delete(lockKey);
+    public List<String> releaseExpiredSeats(UUID eventId, List<String> seatIdentifiers) {
+        SeatLockResult result = seatLockStore.releaseExpired(eventId, seatIdentifiers, layoutOf(eventId));
 
-            // Broadcast unlock event
-            messagingTemplate.convertAndSend("/topic/events/" + eventId + "/seats",
-                    Map.of("seatId", seatId, "status", "AVAILABLE"));
+        List<String> expiredSeats = result.seatIds();
+        seatLockMetrics.recordRelease(eventId, SeatLockMetrics.RELEASE_EXPIRED, expiredSeats.size());
+        if (!expiredSeats.isEmpty()) {
+            seatStatusBroadcaster.publish(
+                    new SeatStatusUpdateDTO(eventId, result.version(), SeatStatus.AVAILABLE, expiredSeats, null));
         }
-        log.info("Unlocked seats {} for event {}", seatIdentifiers, eventId);
+        log.debug("Lock expired for seats {} on event {}", expiredSeats, eventId);
+        return expiredSeats;
     }
 
     public boolean isSeatLocked(UUID eventId, String seatId) {
-        return Boolean.TRUE.equals(redisTemplate.hasKey(generateLockKey(eventId, seatId)));
+        return seatLockStore.areAllLocked(eventId, List.of(seatId));
+    }
+
+    private Duration lockTtl(UUID eventId) {
+        Duration maxHold = seatLockProperties.maxHoldFor(eventId);
+        Duration ttl = seatLockProperties.getTtl();
+        return ttl.compareTo(maxHold) < 0 ? ttl : maxHold;
     }
 
-    private String generateLockKey(UUID eventId, String seatId) {
-        return "seat_lock:" + eventId + ":" + seatId;
+    private SeatLayout layoutOf(UUID eventId) {
+        return seatAvailabilityIndex.layoutOf(eventId).orElse(null);
     }
 }
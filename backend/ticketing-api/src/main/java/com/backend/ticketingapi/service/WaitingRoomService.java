@@ -0,0 +1,225 @@
+package com.backend.ticketingapi.service;
+
+import com.backend.shared.exceptions.NotAdmittedException;
+import com.backend.ticketingapi.config.WaitingRoomProperties;
+import com.backend.ticketingapi.dto.WaitingRoomStatusDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Virtual waiting room for high-demand events.
+ *
+ * Key layout:
+ * - waiting_room:events               set of events whose waiting room is active
+ * - waiting_room:{eventId}            queue, sorted set of userId by arrival sequence
+ * - waiting_room_seq:{eventId}        arrival sequence counter
+ * - waiting_room_clock:{eventId}      admission clock shared by all API nodes
+ * - waiting_room_served:{eventId}     arrival sequence number of the last admitted user
+ * - admission:{eventId}:{userId}      admission token, expires after seating.waiting-room.admission-ttl
+ *
+ * Every node runs the admission job; the shared clock caps the total number of
+ * users admitted per second. An admission token can be used for any number of
+ * registration attempts until it expires, so a user who loses a seat to
+ * someone else can pick another one without queueing again.
+ */
+@Service
+@Slf4j
+public class WaitingRoomService {
+
+    private static final String ACTIVE_EVENTS_KEY = "waiting_room:events";
+    private static final String QUEUE_KEY_PREFIX = "waiting_room:";
+    private static final String SEQUENCE_KEY_PREFIX = "waiting_room_seq:";
+    private static final String CLOCK_KEY_PREFIX = "waiting_room_clock:";
+    private static final String SERVED_KEY_PREFIX = "waiting_room_served:";
+    private static final String ADMISSION_KEY_PREFIX = "admission:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> JOIN = script("join_waiting_room", List.class);
+    private static final RedisScript<Long> ADMIT = script("admit_waiting_room", Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final WaitingRoomProperties properties;
+    private final long tickMs;
+
+    public WaitingRoomService(RedisTemplate<String, Object> redisTemplate,
+            WaitingRoomProperties properties,
+            @Value("${seating.waiting-room.tick-ms:200}") long tickMs) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.tickMs = tickMs;
+    }
+
+    public void activate(UUID eventId) {
+        redisTemplate.opsForSet().add(ACTIVE_EVENTS_KEY, eventId.toString());
+        log.info("Waiting room activated for event {}", eventId);
+    }
+
+    /**
+     * Deactivates the waiting room and drops its queue; registration is open to everyone again.
+     */
+    public void deactivate(UUID eventId) {
+        redisTemplate.opsForSet().remove(ACTIVE_EVENTS_KEY, eventId.toString());
+        redisTemplate.delete(List.of(
+                QUEUE_KEY_PREFIX + eventId, SEQUENCE_KEY_PREFIX + eventId, CLOCK_KEY_PREFIX + eventId,
+                SERVED_KEY_PREFIX + eventId));
+        log.info("Waiting room deactivated for event {}", eventId);
+    }
+
+    public boolean isActive(UUID eventId) {
+        return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(ACTIVE_EVENTS_KEY, eventId.toString()));
+    }
+
+    public Set<UUID> activeEvents() {
+        Set<Object> members = redisTemplate.opsForSet().members(ACTIVE_EVENTS_KEY);
+        if (members == null) {
+            return Set.of();
+        }
+        return members.stream().map(member -> UUID.fromString(member.toString())).collect(Collectors.toSet());
+    }
+
+    /**
+     * Progress of an event's waiting room, read in one round trip.
+     *
+     * @param servedThrough Arrival sequence number of the last admitted user (0 before the first admission)
+     * @param queueLength   Users still waiting
+     */
+    public record Progress(long servedThrough, long queueLength) {
+    }
+
+    public Progress progress(UUID eventId) {
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                operations.opsForValue().get(SERVED_KEY_PREFIX + eventId);
+                operations.opsForZSet().zCard(QUEUE_KEY_PREFIX + eventId);
+                return null;
+            }
+        });
+        Object served = results.get(0);
+        Object queueLength = results.get(1);
+        return new Progress(
+                served != null ? Long.parseLong(served.toString()) : 0L,
+                queueLength != null ? ((Number) queueLength).longValue() : 0L);
+    }
+
+    /**
+     * Puts the user at the back of the queue, unless already queued or admitted.
+     */
+    public WaitingRoomStatusDTO join(UUID eventId, UUID userId) {
+        if (!isActive(eventId)) {
+            return open(eventId);
+        }
+        List<?> result = redisTemplate.execute(JOIN,
+                List.of(QUEUE_KEY_PREFIX + eventId, SEQUENCE_KEY_PREFIX + eventId, admissionKey(eventId, userId)),
+                userId.toString());
+        long rank = result != null ? ((Number) result.get(0)).longValue() : -1L;
+        if (rank < 0) {
+            return status(eventId, userId);
+        }
+        long sequence = ((Number) result.get(1)).longValue();
+        return waiting(eventId, rank, sequence);
+    }
+
+    public WaitingRoomStatusDTO status(UUID eventId, UUID userId) {
+        if (!isActive(eventId)) {
+            return open(eventId);
+        }
+        String admissionKey = admissionKey(eventId, userId);
+        Object token = redisTemplate.opsForValue().get(admissionKey);
+        if (token != null) {
+            Long ttlMs = redisTemplate.getExpire(admissionKey, TimeUnit.MILLISECONDS);
+            Instant expiresAt = ttlMs != null && ttlMs > 0 ? Instant.now().plusMillis(ttlMs) : null;
+            return new WaitingRoomStatusDTO(eventId, WaitingRoomStatusDTO.State.ADMITTED, null, null,
+                    token.toString(), expiresAt);
+        }
+        String queueKey = QUEUE_KEY_PREFIX + eventId;
+        Double sequence = redisTemplate.opsForZSet().score(queueKey, userId.toString());
+        Long rank = sequence != null ? redisTemplate.opsForZSet().rank(queueKey, userId.toString()) : null;
+        return rank == null
+                ? new WaitingRoomStatusDTO(eventId, WaitingRoomStatusDTO.State.NOT_QUEUED, null, null, null, null)
+                : waiting(eventId, rank, sequence.longValue());
+    }
+
+    /**
+     * Lets the registration through if the event's waiting room is inactive or
+     * the user presents the admission token issued to them.
+     *
+     * @throws NotAdmittedException otherwise
+     */
+    public void checkAdmission(UUID eventId, UUID userId, String admissionToken) {
+        if (!isActive(eventId)) {
+            return;
+        }
+        Object expected = redisTemplate.opsForValue().get(admissionKey(eventId, userId));
+        if (admissionToken == null || expected == null || !admissionToken.equals(expected.toString())) {
+            throw new NotAdmittedException(eventId);
+        }
+    }
+
+    /**
+     * Admits the next users of every active waiting room.
+     */
+    @Scheduled(fixedDelayString = "${seating.waiting-room.tick-ms:200}")
+    public void admitWaiting() {
+        for (UUID eventId : activeEvents()) {
+            try {
+                admit(eventId);
+            } catch (RuntimeException e) {
+                log.error("Failed to admit users for event {}", eventId, e);
+            }
+        }
+    }
+
+    private void admit(UUID eventId) {
+        int rate = properties.admissionRateFor(eventId);
+        int maxPerTick = (int) Math.max(1, Math.ceil(rate * tickMs / 1000.0));
+
+        List<Object> args = new ArrayList<>(maxPerTick + 4);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(String.valueOf(rate));
+        args.add(String.valueOf(properties.getAdmissionTtl().toMillis()));
+        args.add(ADMISSION_KEY_PREFIX + eventId + ":");
+        for (int i = 0; i < maxPerTick; i++) {
+            args.add(UUID.randomUUID().toString());
+        }
+
+        Long admitted = redisTemplate.execute(ADMIT,
+                List.of(QUEUE_KEY_PREFIX + eventId, CLOCK_KEY_PREFIX + eventId, SERVED_KEY_PREFIX + eventId),
+                args.toArray());
+        if (admitted != null && admitted > 0) {
+            log.debug("Admitted {} users to event {}", admitted, eventId);
+        }
+    }
+
+    private static WaitingRoomStatusDTO open(UUID eventId) {
+        return new WaitingRoomStatusDTO(eventId, WaitingRoomStatusDTO.State.OPEN, null, null, null, null);
+    }
+
+    private static WaitingRoomStatusDTO waiting(UUID eventId, long rank, long sequence) {
+        return new WaitingRoomStatusDTO(eventId, WaitingRoomStatusDTO.State.WAITING, rank + 1, sequence, null, null);
+    }
+
+    private static String admissionKey(UUID eventId, UUID userId) {
+        return ADMISSION_KEY_PREFIX + eventId + ":" + userId;
+    }
+
+    private static <T> RedisScript<T> script(String name, Class<T> resultType) {
+        return RedisScript.of(new ClassPathResource("scripts/waiting-room/" + name + ".lua"), resultType);
+    }
+}
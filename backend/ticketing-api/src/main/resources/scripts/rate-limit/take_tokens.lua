@@ -0,0 +1,29 @@
+-- Takes up to ARGV[3] tokens from a token bucket shared by all API nodes.
+-- KEYS[1] = bucket (hash: tokens, ts)
+-- ARGV[1] = capacity (burst size)
+-- ARGV[2] = refill rate in tokens per second
+-- ARGV[3] = tokens wanted (the caller's lease size)
+-- ARGV[4] = current time in epoch ms
+-- Returns {granted, waitMs}: the tokens taken (possibly fewer than wanted) and,
+-- when none were left, the milliseconds until the next token is available.
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+local wanted = tonumber(ARGV[3])
+local now = tonumber(ARGV[4])
+
+local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(bucket[1]) or capacity
+local ts = tonumber(bucket[2]) or now
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+
+local granted = math.min(wanted, math.floor(tokens))
+tokens = tokens - granted
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', ARGV[4])
+-- A bucket idle long enough to be full again carries no state
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / rate) + 1000)
+
+local waitMs = 0
+if granted == 0 then
+    waitMs = math.ceil((1 - tokens) * 1000 / rate)
+end
+return {granted, waitMs}
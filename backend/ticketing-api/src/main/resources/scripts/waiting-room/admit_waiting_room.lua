@@ -0,0 +1,44 @@
+-- Admits the users at the front of the event's waiting room at a fixed rate.
+-- Every API node runs this on its own schedule; the shared admission clock
+-- keeps the total rate across nodes at ARGV[2] per second.
+-- KEYS[1] = waiting room queue (sorted set, score = arrival sequence number)
+-- KEYS[2] = admission clock of the event (epoch ms up to which admissions were granted)
+-- KEYS[3] = arrival sequence number of the last admitted user
+-- ARGV[1] = current time in epoch ms
+-- ARGV[2] = admissions per second
+-- ARGV[3] = admission token TTL in milliseconds
+-- ARGV[4] = admission token key prefix of the event (admission:<eventId>:)
+-- ARGV[5..] = fresh admission tokens, at most one admission per token
+-- Admission token keys are derived from the popped users, so this script
+-- needs all keys on one Redis node.
+-- Returns the number of users admitted.
+local now = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+
+-- Unused capacity carries over for at most one second
+local clock = tonumber(redis.call('GET', KEYS[2]) or '0')
+if now - clock > 1000 then
+    clock = now - 1000
+end
+
+local allowed = math.min(math.floor((now - clock) * rate / 1000), #ARGV - 4)
+if allowed < 1 then
+    return 0
+end
+
+local popped = redis.call('ZPOPMIN', KEYS[1], allowed)
+local admitted = #popped / 2
+for i = 1, admitted do
+    redis.call('SET', ARGV[4] .. popped[2 * i - 1], ARGV[4 + i], 'PX', ARGV[3])
+end
+if admitted > 0 then
+    redis.call('SET', KEYS[3], popped[2 * admitted])
+end
+
+if admitted < allowed then
+    clock = now
+else
+    clock = clock + allowed * 1000 / rate
+end
+redis.call('SET', KEYS[2], string.format('%d', math.floor(clock)), 'PX', 60000)
+return admitted
@@ -0,0 +1,16 @@
+-- Adds the user in ARGV[1] to the back of the event's waiting room, once.
+-- KEYS[1] = waiting room queue (sorted set, score = arrival sequence number)
+-- KEYS[2] = arrival sequence counter of the event
+-- KEYS[3] = admission token of the user
+-- Returns {position, sequence}: the 0-based position in the queue and the
+-- user's arrival sequence number, or {-1, 0} when the user is already admitted.
+if redis.call('EXISTS', KEYS[3]) == 1 then
+    return {-1, 0}
+end
+
+local sequence = redis.call('ZSCORE', KEYS[1], ARGV[1])
+if not sequence then
+    sequence = redis.call('INCR', KEYS[2])
+    redis.call('ZADD', KEYS[1], sequence, ARGV[1])
+end
+return {redis.call('ZRANK', KEYS[1], ARGV[1]), tonumber(sequence)}
@@ -0,0 +1,58 @@
+package com.backend.ticketingapi.service;
+
+import com.backend.shared.exceptions.QueueUnavailableException;
+import com.backend.shared.exceptions.RegistrationQueuedException;
+import com.backend.ticketingapi.config.AdaptiveRoutingProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AdaptiveRegistrationRouterTest {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+    private final EventAvailabilityFlags flags = mock(EventAvailabilityFlags.class);
+    private final UUID eventId = UUID.randomUUID();
+
+    @Test
+    void queuedEventIsRoutedThroughTheQueue() {
+        when(flags.isQueued(eventId)).thenReturn(true);
+        AdaptiveRegistrationRouter router = router("redis");
+
+        assertThat(router.shouldQueue(eventId)).isTrue();
+        assertThatThrownBy(() -> router.checkDirect(eventId)).isInstanceOf(RegistrationQueuedException.class);
+        assertThatCode(router::checkQueueingSupported).doesNotThrowAnyException();
+    }
+
+    @Test
+    void memoryStoreIsDirectOnly() {
+        when(flags.isQueued(eventId)).thenReturn(true);
+        AdaptiveRegistrationRouter router = router("memory");
+
+        assertThat(router.shouldQueue(eventId)).isFalse();
+        assertThatCode(() -> router.checkDirect(eventId)).doesNotThrowAnyException();
+        assertThatThrownBy(router::checkQueueingSupported).isInstanceOf(QueueUnavailableException.class);
+    }
+
+    @Test
+    void memoryStoreNeverMeasuresLoad() {
+        AdaptiveRegistrationRouter router = router("memory");
+
+        router.recordLockAttempt(eventId);
+        router.flushAndEvaluate();
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private AdaptiveRegistrationRouter router(String lockStore) {
+        return new AdaptiveRegistrationRouter(redisTemplate, flags, new AdaptiveRoutingProperties(), lockStore);
+    }
+}
@@ -0,0 +1,57 @@
+package com.backend.ticketingapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentionSketchTest {
+
+    @Test
+    void ranksKeysByCountAndNeverUndercounts() {
+        ContentionSketch sketch = new ContentionSketch(4, 256, 3);
+        add(sketch, "A1", 30);
+        add(sketch, "B2", 20);
+        add(sketch, "C3", 10);
+
+        assertThat(sketch.top(3)).extracting(Map.Entry::getKey).containsExactly("A1", "B2", "C3");
+        assertThat(sketch.top(3).get(0).getValue()).isGreaterThanOrEqualTo(30L);
+        assertThat(sketch.top(2)).hasSize(2);
+    }
+
+    @Test
+    void keepsOnlyTheHeaviestKeys() {
+        ContentionSketch sketch = new ContentionSketch(4, 1024, 2);
+        add(sketch, "A1", 5);
+        add(sketch, "B2", 3);
+        add(sketch, "C3", 10);
+        for (int i = 0; i < 100; i++) {
+            sketch.add("noise-" + i);
+        }
+
+        assertThat(sketch.top(10)).extracting(Map.Entry::getKey).containsExactly("C3", "A1");
+    }
+
+    @Test
+    void decayHalvesCountsAndForgetsColdKeys() {
+        ContentionSketch sketch = new ContentionSketch(4, 256, 4);
+        add(sketch, "A1", 8);
+        add(sketch, "B2", 1);
+
+        sketch.decay();
+
+        assertThat(sketch.top(4)).extracting(Map.Entry::getKey).containsExactly("A1");
+        assertThat(sketch.top(4).get(0).getValue()).isEqualTo(4L);
+
+        // Fresh contention overtakes the decayed ranking
+        add(sketch, "B2", 6);
+        assertThat(sketch.top(1)).extracting(Map.Entry::getKey).containsExactly("B2");
+    }
+
+    private static void add(ContentionSketch sketch, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            sketch.add(key);
+        }
+    }
+}
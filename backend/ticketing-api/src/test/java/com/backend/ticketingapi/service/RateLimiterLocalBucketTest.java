@@ -0,0 +1,70 @@
+package com.backend.ticketingapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterLocalBucketTest {
+
+    private static final long MS = Duration.ofMillis(1).toNanos();
+
+    private final RateLimiter.LocalBucket bucket = new RateLimiter.LocalBucket(Duration.ofMillis(1000));
+    private final AtomicInteger leases = new AtomicInteger();
+
+    @Test
+    void spendsLeasedTokensWithoutAskingAgain() {
+        Supplier<RateLimiter.Lease> leaser = leaser(new RateLimiter.Lease(3, 0));
+
+        assertThat(bucket.take(0, leaser)).isZero();
+        assertThat(bucket.take(MS, leaser)).isZero();
+        assertThat(bucket.take(2 * MS, leaser)).isZero();
+        assertThat(leases).hasValue(1);
+
+        assertThat(bucket.take(3 * MS, leaser)).isZero();
+        assertThat(leases).hasValue(2);
+    }
+
+    @Test
+    void dropsLeasedTokensOnceTheLeaseExpires() {
+        Supplier<RateLimiter.Lease> leaser = leaser(new RateLimiter.Lease(5, 0));
+
+        bucket.take(0, leaser);
+        bucket.take(1000 * MS, leaser);
+
+        assertThat(leases).hasValue(2);
+    }
+
+    @Test
+    void remembersTheLimitWithoutAskingAgain() {
+        Supplier<RateLimiter.Lease> leaser = leaser(new RateLimiter.Lease(0, 200));
+
+        assertThat(bucket.take(0, leaser)).isEqualTo(200 * MS);
+        assertThat(bucket.take(50 * MS, leaser)).isEqualTo(150 * MS);
+        assertThat(leases).hasValue(1);
+
+        assertThat(bucket.take(200 * MS, leaser(new RateLimiter.Lease(1, 0)))).isZero();
+        assertThat(leases).hasValue(2);
+    }
+
+    @Test
+    void isIdleOnlyWithNothingToRemember() {
+        bucket.take(0, leaser(new RateLimiter.Lease(2, 0)));
+        assertThat(bucket.isIdle(MS)).isFalse();
+        assertThat(bucket.isIdle(1000 * MS)).isTrue();
+
+        bucket.take(1000 * MS, leaser(new RateLimiter.Lease(0, 100)));
+        assertThat(bucket.isIdle(1050 * MS)).isFalse();
+        assertThat(bucket.isIdle(1100 * MS)).isTrue();
+    }
+
+    private Supplier<RateLimiter.Lease> leaser(RateLimiter.Lease lease) {
+        return () -> {
+            leases.incrementAndGet();
+            return lease;
+        };
+    }
+}